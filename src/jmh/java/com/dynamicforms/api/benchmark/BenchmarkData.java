@@ -0,0 +1,134 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.model.ValidationRule;
+import com.dynamicforms.api.repository.InMemorySchemaStore;
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.service.FormConfigService;
+import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.service.ValidationMetrics;
+import com.dynamicforms.api.service.ValidationResultCache;
+import com.dynamicforms.api.validation.RegexCache;
+import com.dynamicforms.api.validation.ValidationPlanCompiler;
+import com.dynamicforms.api.validation.ValidatorRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic forms and schemas shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static SchemaRepository schemaRepository() {
+        return new SchemaRepository(event -> {
+        }, new InMemorySchemaStore(), 10);
+    }
+
+    static FormValidationService validationService(SchemaRepository schemaRepository) {
+        return validationService(schemaRepository, new ValidationResultCache(false, 0, 0));
+    }
+
+    static FormValidationService validationService(SchemaRepository schemaRepository,
+                                                   ValidationResultCache resultCache) {
+        return new FormValidationService(new FormConfigService(), schemaRepository,
+                new ValidationPlanCompiler(new RegexCache(1024, 1000, 50), new ValidatorRegistry(List.of())),
+                new ValidationMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)), resultCache);
+    }
+
+    /**
+     * Data for {@link #formConfig(String, int)}: every field filled in, or every field failing its rules.
+     */
+    static Map<String, Object> formData(int fieldCount, boolean valid) {
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            data.put("field" + i, valid ? "value " + i : "x".repeat(65));
+        }
+        return data;
+    }
+
+    /**
+     * Indices {@code 0..size-1} of which {@code invalidPercent} percent, spread evenly, should be invalid.
+     */
+    static boolean[] invalidMix(int size, int invalidPercent) {
+        boolean[] invalid = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            invalid[i] = (i * invalidPercent) % 100 + invalidPercent > 99;
+        }
+        return invalid;
+    }
+
+    static FormConfig formConfig(String formId, int fieldCount) {
+        List<FormField> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(FormField.builder()
+                    .name("field" + i)
+                    .label("Field " + i)
+                    .controlType("input")
+                    .inputType("text")
+                    .order(i)
+                    .validations(List.of(
+                            ValidationRule.builder().name("required").value(true)
+                                    .errorMessage("Field " + i + " is required").build(),
+                            ValidationRule.builder().name("maxLength").value(64)
+                                    .errorMessage("Field " + i + " is too long").build()))
+                    .build());
+        }
+        return FormConfig.builder()
+                .formId(formId)
+                .formTitle("Form " + formId)
+                .fields(fields)
+                .build();
+    }
+
+    static FormSchema schema(int index, int fieldCount) {
+        return FormSchema.builder()
+                .schemaId(String.format("schema-%08d", index))
+                .schemaName("schema-" + (index % 10_000))
+                .schemaVersion(Integer.toString(index / 10_000 + 1))
+                .description("Synthetic schema " + index)
+                .formConfig(formConfig("form-" + index, fieldCount))
+                .createdAt(EPOCH.plusSeconds(index))
+                .updatedAt(EPOCH.plusSeconds(index))
+                .createdBy("benchmark")
+                .status(index % 10 == 0 ? "archived" : "active")
+                .tags(List.of("tag-" + (index % 50), "group-" + (index % 7)))
+                .build();
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.service.FormConfigService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups against the built-in form catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormCatalogBenchmark {
+
+    private FormConfigService formConfigService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        formConfigService = new FormConfigService();
+        formConfigService.getAllForms();
+    }
+
+    @Benchmark
+    public Map<String, FormConfig> getAllForms() {
+        return formConfigService.getAllForms();
+    }
+
+    @Benchmark
+    public FormConfig getFormById() {
+        return formConfigService.getFormById("cross-validation");
+    }
+}
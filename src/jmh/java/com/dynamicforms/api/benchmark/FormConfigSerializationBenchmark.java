@@ -0,0 +1,49 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.service.FormConfigCache;
+import com.dynamicforms.api.service.FormConfigService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producing the response body of a form config GET: serializing the config per request, against the
+ * bytes kept by {@link FormConfigCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormConfigSerializationBenchmark {
+
+    @Param({"registration", "synthetic-100"})
+    public String form;
+
+    private ObjectMapper objectMapper;
+    private FormConfigCache formConfigCache;
+    private FormConfig formConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = BenchmarkData.objectMapper();
+        formConfigCache = new FormConfigCache(objectMapper, 0, true, 1024);
+        formConfig = form.startsWith("synthetic-")
+                ? BenchmarkData.formConfig(form, Integer.parseInt(form.substring("synthetic-".length())))
+                : new FormConfigService().getFormById(form);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(formConfig);
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        return formConfigCache.form(formConfig).json();
+    }
+}
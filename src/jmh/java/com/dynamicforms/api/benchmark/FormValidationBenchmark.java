@@ -0,0 +1,148 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationMode;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.validation.ValidationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FormValidationService#validateFormSubmission} for each built-in form, cycling through
+ * submissions of which {@code invalidPercent} percent fail validation, with full or fail-fast evaluation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormValidationBenchmark {
+
+    private static final int SUBMISSIONS = 64;
+
+    @Param({"registration", "contact", "conditional", "cross-validation"})
+    public String formId;
+
+    @Param({"0", "50", "100"})
+    public int invalidPercent;
+
+    @Param({"all", "failFast"})
+    public String mode;
+
+    private FormValidationService validationService;
+    private ValidationOptions options;
+    private FormSubmission[] submissions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validationService = BenchmarkData.validationService(BenchmarkData.schemaRepository());
+        options = ValidationOptions.of(ValidationMode.fromParameter(mode), null);
+
+        boolean[] invalid = BenchmarkData.invalidMix(SUBMISSIONS, invalidPercent);
+        submissions = new FormSubmission[SUBMISSIONS];
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            submissions[i] = FormSubmission.builder()
+                    .formId(formId)
+                    .data(invalid[i] ? invalidData(formId) : validData(formId))
+                    .build();
+            if (validationService.validateFormSubmission(submissions[i]).isValid() == invalid[i]) {
+                throw new IllegalStateException("Unexpected validation result for " + formId);
+            }
+        }
+    }
+
+    @Benchmark
+    public ValidationResponse validate() {
+        FormSubmission submission = submissions[next];
+        next = (next + 1) % SUBMISSIONS;
+        return validationService.validateFormSubmission(submission, options);
+    }
+
+    static Map<String, Object> validData(String formId) {
+        Map<String, Object> data = new HashMap<>();
+        switch (formId) {
+            case "registration" -> {
+                data.put("username", "jane_doe");
+                data.put("email", "jane@example.com");
+                data.put("password", "Secret@123a");
+                data.put("phone", "+1-555-1234567");
+                data.put("age", 30);
+                data.put("gender", "female");
+                data.put("country", "US");
+                data.put("bio", "Likes forms.");
+                data.put("terms", true);
+            }
+            case "contact" -> {
+                data.put("name", "Jane Doe");
+                data.put("email", "jane@example.com");
+                data.put("subject", "general");
+                data.put("message", "A question about forms.");
+            }
+            case "conditional" -> {
+                data.put("employmentStatus", "employed");
+                data.put("companyName", "Acme");
+                data.put("universityName", "State University");
+                data.put("hasExperience", true);
+                data.put("yearsExperience", 5);
+                data.put("contactMethod", "phone");
+                data.put("phoneNumber", "+1-555-1234567");
+                data.put("emailAddress", "jane@example.com");
+            }
+            case "cross-validation" -> {
+                data.put("password", "MyPassword123");
+                data.put("confirmPassword", "MyPassword123");
+                data.put("startDate", "2024-01-01");
+                data.put("endDate", "2024-12-31");
+                data.put("minBudget", 1000);
+                data.put("maxBudget", 5000);
+                data.put("agreementType", "custom");
+                data.put("customAgreementDetails", "Special terms apply");
+            }
+            default -> throw new IllegalArgumentException("Unknown form: " + formId);
+        }
+        return data;
+    }
+
+    private static Map<String, Object> invalidData(String formId) {
+        Map<String, Object> data = new HashMap<>();
+        switch (formId) {
+            case "registration" -> {
+                data.put("username", "x!");
+                data.put("email", "not-an-email");
+                data.put("password", "short");
+                data.put("phone", "call me");
+                data.put("age", 12);
+                data.put("terms", false);
+            }
+            case "contact" -> {
+                data.put("name", "J");
+                data.put("email", "not-an-email");
+                data.put("message", "Hi");
+            }
+            case "conditional" -> {
+                data.put("employmentStatus", "student");
+                data.put("hasExperience", true);
+                data.put("yearsExperience", -1);
+                data.put("contactMethod", "email");
+                data.put("emailAddress", "not-an-email");
+            }
+            case "cross-validation" -> {
+                data.put("password", "MyPassword123");
+                data.put("confirmPassword", "MyPassword321");
+                data.put("startDate", "2024-12-31");
+                data.put("endDate", "2024-01-01");
+                data.put("minBudget", 5000);
+                data.put("maxBudget", 1000);
+                data.put("agreementType", "custom");
+            }
+            default -> throw new IllegalArgumentException("Unknown form: " + formId);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.model.SchemaFacets;
+import com.dynamicforms.api.model.SchemaPage;
+import com.dynamicforms.api.model.SchemaQuery;
+import com.dynamicforms.api.model.SchemaSearchHit;
+import com.dynamicforms.api.model.SchemaSortField;
+import com.dynamicforms.api.repository.SchemaRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups, filtered listings, facet counts, sorted pages and text search over an in-memory {@link SchemaRepository}.
+ * Synthetic schemas carry one of 50 tags, one of 7 groups, and 10% are archived.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchemaRepositoryBenchmark {
+
+    @Param({"10000", "100000", "500000"})
+    public int schemaCount;
+
+    private SchemaRepository repository;
+    private SchemaQuery firstPage;
+    private SchemaQuery taggedPage;
+    private SchemaQuery tagsNotArchived;
+    private SchemaQuery searchPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkData.schemaRepository();
+        for (int i = 0; i < schemaCount; i++) {
+            repository.save(BenchmarkData.schema(i, 5));
+        }
+        firstPage = SchemaQuery.builder().limit(50).descending(true).build();
+        taggedPage = SchemaQuery.builder().tags(List.of("tag-7")).status("active")
+                .sortBy(SchemaSortField.SCHEMA_NAME).limit(50).build();
+        tagsNotArchived = SchemaQuery.builder().tags(List.of("tag-7", "group-3"))
+                .excludedStatuses(List.of("archived")).build();
+        searchPage = SchemaQuery.builder().limit(20).build();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int nextIndex(int bound) {
+            next = (next + 7919) % bound;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Optional<FormSchema> findById(Cursor cursor) {
+        return repository.findById(String.format("schema-%08d", cursor.nextIndex(schemaCount)));
+    }
+
+    @Benchmark
+    public Optional<FormSchema> findBySchemaNameAndVersion(Cursor cursor) {
+        int index = cursor.nextIndex(schemaCount);
+        return repository.findBySchemaNameAndVersion("schema-" + (index % 10_000), Integer.toString(index / 10_000 + 1));
+    }
+
+    @Benchmark
+    public List<FormSchema> findByTag() {
+        return repository.findByTag("tag-7");
+    }
+
+    @Benchmark
+    public List<FormSchema> findByStatus() {
+        return repository.findByStatus("archived");
+    }
+
+    @Benchmark
+    public List<FormSchema> findByTagAndStatus() {
+        return repository.findByFilters("archived", "group-3", null);
+    }
+
+    @Benchmark
+    public List<FormSchema> findByTagsNotArchived() {
+        return repository.findByFilters(tagsNotArchived);
+    }
+
+    @Benchmark
+    public SchemaFacets countFacets() {
+        return repository.countFacets(SchemaQuery.builder().build(), null);
+    }
+
+    @Benchmark
+    public SchemaFacets countFacetsNotArchived() {
+        return repository.countFacets(SchemaQuery.builder().excludedStatuses(List.of("archived")).build(), null);
+    }
+
+    @Benchmark
+    public SchemaPage<SchemaSearchHit<FormSchema>> searchRareTerm(Cursor cursor) {
+        return repository.search("synthetic " + cursor.nextIndex(schemaCount), searchPage);
+    }
+
+    // Every schema has a field labelled "Field 3", so this ranks the whole catalog
+    @Benchmark
+    public SchemaPage<SchemaSearchHit<FormSchema>> searchCommonPrefix() {
+        return repository.search("fiel 3", searchPage);
+    }
+
+    @Benchmark
+    public SchemaPage<FormSchema> findFirstPageByUpdatedAt() {
+        return repository.findPage(firstPage);
+    }
+
+    @Benchmark
+    public SchemaPage<FormSchema> findTaggedPageByName() {
+        return repository.findPage(taggedPage);
+    }
+}
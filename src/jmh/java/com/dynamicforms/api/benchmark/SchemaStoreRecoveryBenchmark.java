@@ -0,0 +1,73 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.repository.FileSchemaStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start recovery of a {@link FileSchemaStore}, either from a compacted snapshot or by replaying
+ * the whole write-ahead log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class SchemaStoreRecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int schemaCount;
+
+    @Param({"snapshot", "wal"})
+    public String layout;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void writeStore() throws IOException {
+        directory = Files.createTempDirectory("schema-store-recovery");
+        FileSchemaStore store = new FileSchemaStore(directory, BenchmarkData.objectMapper(), false, Long.MAX_VALUE);
+        store.load();
+
+        List<FormSchema> schemas = new ArrayList<>(schemaCount);
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < schemaCount; i++) {
+            FormSchema schema = BenchmarkData.schema(i, 2);
+            last = store.save(schema);
+            if ("snapshot".equals(layout)) {
+                schemas.add(schema);
+            }
+        }
+        if (last != null) {
+            last.join();
+        }
+        if ("snapshot".equals(layout)) {
+            store.compact(schemas);
+        }
+        store.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int recover() {
+        FileSchemaStore store = new FileSchemaStore(directory, BenchmarkData.objectMapper(), false, Long.MAX_VALUE);
+        try {
+            return store.load().size();
+        } finally {
+            store.close();
+        }
+    }
+}
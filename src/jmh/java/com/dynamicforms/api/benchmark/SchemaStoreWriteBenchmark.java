@@ -0,0 +1,56 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.repository.FileSchemaStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable save throughput of a {@link FileSchemaStore} under concurrent writers. With fsync enabled,
+ * throughput beyond one write per fsync comes from group commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SchemaStoreWriteBenchmark {
+
+    @Param({"true", "false"})
+    public boolean fsync;
+
+    private Path directory;
+    private FileSchemaStore store;
+    private FormSchema schema;
+
+    @Setup(Level.Trial)
+    public void openStore() throws IOException {
+        directory = Files.createTempDirectory("schema-store-write");
+        store = new FileSchemaStore(directory, BenchmarkData.objectMapper(), fsync, Long.MAX_VALUE);
+        store.load();
+        schema = BenchmarkData.schema(1, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStore() throws IOException {
+        store.close();
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void saveSingleWriter() {
+        store.save(schema).join();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void saveConcurrentWriters() {
+        store.save(schema).join();
+    }
+}
@@ -0,0 +1,74 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.service.SubmissionBinder;
+import com.dynamicforms.api.validation.SubmissionRejectedException;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and validating a JSON submission against a stored schema: binding the data into a map, against
+ * binding it into the slots of the plan with {@link SubmissionBinder}. {@code unknownFields} keys that no
+ * rule reads are added to the data; beyond the default limit of 10000 keys, slot binding rejects the submission.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionBindingBenchmark {
+
+    @Param({"10", "100"})
+    public int fieldCount;
+
+    @Param({"0", "100", "20000"})
+    public int unknownFields;
+
+    private ObjectMapper objectMapper;
+    private FormValidationService validationService;
+    private SubmissionBinder submissionBinder;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkData.objectMapper();
+        SchemaRepository schemaRepository = BenchmarkData.schemaRepository();
+        String schemaId = schemaRepository.save(BenchmarkData.schema(0, fieldCount)).getSchemaId();
+        validationService = BenchmarkData.validationService(schemaRepository);
+        submissionBinder = new SubmissionBinder(validationService, objectMapper, new SimpleMeterRegistry(),
+                1 << 20, 8, 10_000, 1 << 20, false, 1024);
+
+        Map<String, Object> data = BenchmarkData.formData(fieldCount, true);
+        for (int i = 0; i < unknownFields; i++) {
+            data.put("unknown" + i, i % 2 == 0 ? "value " + i : i);
+        }
+        body = objectMapper.writeValueAsBytes(FormSubmission.builder().schemaId(schemaId).data(data).build());
+    }
+
+    @Benchmark
+    public ValidationResponse mapBinding() throws IOException {
+        return validationService.validateFormSubmission(objectMapper.readValue(body, FormSubmission.class));
+    }
+
+    @Benchmark
+    public Object slotBinding() throws IOException {
+        try {
+            SubmissionBinder.BoundSubmission bound = submissionBinder.bind(new ByteArrayInputStream(body), true);
+            return validationService.validate(bound.resolution(), bound.submission().getData(),
+                    ValidationOptions.EXHAUSTIVE);
+        } catch (SubmissionRejectedException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.service.FormValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation cost as a function of form size, using stored schemas whose fields each carry
+ * a required and a maxLength rule. {@code validateChangedField} is the delta validation of one edited field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticFormValidationBenchmark {
+
+    private static final int SUBMISSIONS = 16;
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    @Param({"0", "50", "100"})
+    public int invalidPercent;
+
+    private FormValidationService validationService;
+    private FormSubmission[] submissions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchemaRepository schemaRepository = BenchmarkData.schemaRepository();
+        String schemaId = schemaRepository.save(BenchmarkData.schema(0, fieldCount)).getSchemaId();
+        validationService = BenchmarkData.validationService(schemaRepository);
+
+        boolean[] invalid = BenchmarkData.invalidMix(SUBMISSIONS, invalidPercent);
+        submissions = new FormSubmission[SUBMISSIONS];
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            submissions[i] = FormSubmission.builder()
+                    .schemaId(schemaId)
+                    .data(BenchmarkData.formData(fieldCount, !invalid[i]))
+                    .changedFields(List.of("field" + (i * 7919 % fieldCount)))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public ValidationResponse validate() {
+        FormSubmission submission = submissions[next];
+        next = (next + 1) % SUBMISSIONS;
+        return validationService.validateFormSubmission(submission);
+    }
+
+    @Benchmark
+    public ValidationResponse validateChangedField() {
+        FormSubmission submission = submissions[next];
+        next = (next + 1) % SUBMISSIONS;
+        return validationService.validateChangedFields(submission);
+    }
+}
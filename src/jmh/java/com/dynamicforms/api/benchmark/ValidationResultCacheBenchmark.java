@@ -0,0 +1,84 @@
+package com.dynamicforms.api.benchmark;
+
+import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.service.PlanResolution;
+import com.dynamicforms.api.service.SubmissionBinder;
+import com.dynamicforms.api.service.ValidationResultCache;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating bound submissions of a built-in form without the result cache, with the cache answering a
+ * repeated submission, and with the cache missing on every one of more distinct submissions than it holds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationResultCacheBenchmark {
+
+    private static final int SUBMISSIONS = 4096;
+    private static final int CACHE_ENTRIES = 1024;
+
+    @Param({"registration", "contact", "cross-validation"})
+    public String formId;
+
+    private FormValidationService validationService;
+    private PlanResolution resolution;
+    private Map<String, Object>[] data;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        validationService = BenchmarkData.validationService(BenchmarkData.schemaRepository(),
+                new ValidationResultCache(true, CACHE_ENTRIES, 3600));
+        SubmissionBinder submissionBinder = new SubmissionBinder(validationService, objectMapper,
+                new SimpleMeterRegistry(), 1 << 20, 8, 10_000, 1 << 20, false, 1024);
+
+        data = new Map[SUBMISSIONS];
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            Map<String, Object> values = FormValidationBenchmark.validData(formId);
+            if (values.containsKey("email")) {
+                values.put("email", "jane" + i + "@example.com");
+            } else {
+                values.put("customAgreementDetails", "Special terms " + i);
+            }
+            byte[] body = objectMapper.writeValueAsBytes(FormSubmission.builder().formId(formId).data(values).build());
+            SubmissionBinder.BoundSubmission bound = submissionBinder.bind(new ByteArrayInputStream(body), true);
+            resolution = bound.resolution();
+            data[i] = bound.submission().getData();
+        }
+    }
+
+    @Benchmark
+    public ValidationResponse uncached() {
+        Map<String, Object> values = data[next];
+        next = (next + 1) % SUBMISSIONS;
+        return validationService.validate(resolution, values, ValidationOptions.EXHAUSTIVE);
+    }
+
+    @Benchmark
+    public ValidationResponse repeated() {
+        return validationService.validateRepeatable(resolution, data[0], ValidationOptions.EXHAUSTIVE);
+    }
+
+    @Benchmark
+    public ValidationResponse distinct() {
+        Map<String, Object> values = data[next];
+        next = (next + 1) % SUBMISSIONS;
+        return validationService.validateRepeatable(resolution, values, ValidationOptions.EXHAUSTIVE);
+    }
+}
@@ -0,0 +1,331 @@
+package com.dynamicforms.api.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP/1.1 load generator for comparing the server's platform-thread and virtual-thread modes.
+ * Every connection is a keep-alive socket driven by its own virtual thread, which sends a request, reads the
+ * full response and, after an optional think time, sends the next one. For each connection count it reports
+ * throughput and latency percentiles over the measurement window.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--url http://localhost:8080/api/forms/registration
+ *     --connections 1000,10000,50000 --duration 30 --label virtual"
+ * </pre>
+ *
+ * Options: {@code --url}, {@code --method} (GET), {@code --body} (file sent as JSON), {@code --connections}
+ * (comma-separated, 1000), {@code --warmup} and {@code --duration} (seconds, 10 and 30), {@code --think-ms}
+ * (0), {@code --local-addresses} (comma-separated source addresses, e.g. 127.0.0.1,127.0.0.2, to go beyond
+ * one address's ephemeral ports), {@code --label} (printed with every result row).
+ */
+public final class LoadTest {
+
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private final URI url;
+    private final byte[] request;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final long thinkMillis;
+    private final List<InetAddress> localAddresses;
+
+    private LoadTest(URI url, String method, byte[] body, long warmupSeconds, long durationSeconds,
+                     long thinkMillis, List<InetAddress> localAddresses) {
+        this.url = url;
+        this.request = encodeRequest(url, method, body);
+        this.warmupNanos = warmupSeconds * 1_000_000_000L;
+        this.durationNanos = durationSeconds * 1_000_000_000L;
+        this.thinkMillis = thinkMillis;
+        this.localAddresses = localAddresses;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/api/forms/registration"));
+        byte[] body = options.containsKey("body") ? Files.readAllBytes(Path.of(options.get("body"))) : null;
+        List<InetAddress> localAddresses = new ArrayList<>();
+        if (options.containsKey("local-addresses")) {
+            for (String address : options.get("local-addresses").split(",")) {
+                localAddresses.add(InetAddress.getByName(address.trim()));
+            }
+        }
+
+        LoadTest loadTest = new LoadTest(url, options.getOrDefault("method", "GET"), body,
+                Long.parseLong(options.getOrDefault("warmup", "10")),
+                Long.parseLong(options.getOrDefault("duration", "30")),
+                Long.parseLong(options.getOrDefault("think-ms", "0")), localAddresses);
+        String label = options.getOrDefault("label", "-");
+
+        System.out.printf("%-10s %11s %10s %8s %12s %9s %9s %9s %9s%n", "label", "connections", "requests",
+                "errors", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String connections : options.getOrDefault("connections", "1000").split(",")) {
+            Result result = loadTest.run(Integer.parseInt(connections.trim()));
+            System.out.printf("%-10s %11d %10d %8d %12.0f %9.2f %9.2f %9.2f %9.2f%n", label, result.connections(),
+                    result.requests(), result.errors(), result.throughput(), result.percentile(0.50),
+                    result.percentile(0.99), result.percentile(0.999), result.percentile(1.0));
+        }
+    }
+
+    private Result run(int connections) throws InterruptedException {
+        Connection[] workers = new Connection[connections];
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + durationNanos;
+
+        Thread[] threads = new Thread[connections];
+        for (int i = 0; i < connections; i++) {
+            InetAddress localAddress = localAddresses.isEmpty() ? null : localAddresses.get(i % localAddresses.size());
+            workers[i] = new Connection(localAddress, measureFrom, measureUntil, errors);
+            threads[i] = Thread.ofVirtual().name("load-", i).start(workers[i]);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = 0;
+        for (Connection worker : workers) {
+            total += worker.count;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Connection worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(connections, latencies, errors.get(), durationNanos);
+    }
+
+    /**
+     * One keep-alive connection. Latencies of requests started inside the measurement window are kept.
+     */
+    private final class Connection implements Runnable {
+
+        private final InetAddress localAddress;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final AtomicLong errors;
+
+        private long[] latencies = new long[256];
+        private int count;
+        private byte[] buffer = new byte[16 * 1024];
+        // Whether the server keeps the connection open after the last response
+        private boolean keepAlive;
+
+        Connection(InetAddress localAddress, long measureFrom, long measureUntil, AtomicLong errors) {
+            this.localAddress = localAddress;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            this.errors = errors;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < measureUntil) {
+                try (Socket socket = connect()) {
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream(), buffer.length);
+                    long now;
+                    keepAlive = true;
+                    while (keepAlive && (now = System.nanoTime()) < measureUntil) {
+                        out.write(request);
+                        out.flush();
+                        int status = readResponse(in);
+                        if (now >= measureFrom) {
+                            if (status >= 200 && status < 400) {
+                                record(System.nanoTime() - now);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                        if (thinkMillis > 0) {
+                            Thread.sleep(thinkMillis);
+                        }
+                    }
+                } catch (IOException e) {
+                    if (System.nanoTime() >= measureFrom) {
+                        errors.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private Socket connect() throws IOException {
+            Socket socket = new Socket();
+            if (localAddress != null) {
+                socket.bind(new InetSocketAddress(localAddress, 0));
+            }
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(url.getHost(), port(url)), 30_000);
+            return socket;
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        /**
+         * Reads one response and returns its status, or -1 when the server closed the connection instead.
+         */
+        private int readResponse(InputStream in) throws IOException {
+            int headerLength = readHeaders(in);
+            if (headerLength < 0) {
+                keepAlive = false;
+                return -1;
+            }
+            String headers = new String(buffer, 0, headerLength, StandardCharsets.ISO_8859_1);
+            int status = Integer.parseInt(headers.substring(9, 12));
+
+            String lower = headers.toLowerCase();
+            int contentLength = headerValue(lower, "content-length:");
+            if (contentLength >= 0) {
+                skip(in, contentLength);
+            } else if (lower.contains("transfer-encoding: chunked")) {
+                skipChunks(in);
+            }
+            keepAlive = !lower.contains("connection: close");
+            return status;
+        }
+
+        private int readHeaders(InputStream in) throws IOException {
+            int length = 0;
+            int matched = 0;
+            while (matched < HEADER_END.length) {
+                int b = in.read();
+                if (b < 0) {
+                    return -1;
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, length * 2);
+                }
+                buffer[length++] = (byte) b;
+                matched = b == HEADER_END[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+            }
+            return length;
+        }
+
+        private void skipChunks(InputStream in) throws IOException {
+            while (true) {
+                StringBuilder size = new StringBuilder();
+                int b;
+                while ((b = in.read()) != '\n') {
+                    if (b < 0) {
+                        throw new IOException("Truncated chunk");
+                    }
+                    if (b != '\r') {
+                        size.append((char) b);
+                    }
+                }
+                int semicolon = size.indexOf(";");
+                int chunkSize = Integer.parseInt(semicolon >= 0 ? size.substring(0, semicolon) : size.toString(), 16);
+                // The chunk data is followed by CRLF; the last chunk by an empty trailer line
+                skip(in, chunkSize + 2);
+                if (chunkSize == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Result(int connections, long[] latencies, long errors, long durationNanos) {
+
+        long requests() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / (durationNanos / 1e9);
+        }
+
+        double percentile(double fraction) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(fraction * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static void skip(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new IOException("Truncated response body");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static int headerValue(String headers, String name) {
+        int index = headers.indexOf("\r\n" + name);
+        if (index < 0) {
+            return -1;
+        }
+        int start = index + name.length() + 2;
+        int end = headers.indexOf('\r', start);
+        return Integer.parseInt(headers.substring(start, end).trim());
+    }
+
+    private static int port(URI url) {
+        return url.getPort() > 0 ? url.getPort() : 80;
+    }
+
+    private static byte[] encodeRequest(URI url, String method, byte[] body) {
+        String path = url.getRawPath() + (url.getRawQuery() != null ? "?" + url.getRawQuery() : "");
+        StringBuilder head = new StringBuilder()
+                .append(method).append(' ').append(path.isEmpty() ? "/" : path).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(url.getHost()).append(':').append(port(url)).append("\r\n")
+                .append("Accept: application/json\r\n");
+        if (body != null) {
+            head.append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        head.append("\r\n");
+
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+        if (body == null) {
+            return headBytes;
+        }
+        byte[] request = Arrays.copyOf(headBytes, headBytes.length + body.length);
+        System.arraycopy(body, 0, request, headBytes.length, body.length);
+        return request;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + Arrays.toString(args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -1,12 +1,16 @@
 package com.dynamicforms.api.config;
 
 import com.dynamicforms.api.service.SchemaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final SchemaService schemaService;
 
     public DataInitializer(SchemaService schemaService) {
@@ -15,7 +19,12 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        // Schemas recovered from storage already include the defaults
+        if (schemaService.countSchemas() > 0) {
+            log.info("Loaded {} form schemas from storage", schemaService.countSchemas());
+            return;
+        }
         schemaService.initializeDefaultSchemas();
-        System.out.println("Default form schemas initialized successfully!");
+        log.info("Default form schemas initialized");
     }
 }
@@ -0,0 +1,70 @@
+package com.dynamicforms.api.config;
+
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.service.FormConfigCache;
+import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.service.ValidationMetrics;
+import com.dynamicforms.api.service.ValidationResultCache;
+import com.dynamicforms.api.validation.RegexCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToLongFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder schemaMetrics(SchemaRepository schemaRepository) {
+        return registry -> Gauge.builder("dynamicforms.schemas", schemaRepository, SchemaRepository::count)
+                .description("Stored schemas")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(FormValidationService validationService, RegexCache regexCache,
+                                    FormConfigCache formConfigCache, ValidationResultCache resultCache) {
+        return registry -> {
+            bindCache(registry, "validation-plan", validationService,
+                    FormValidationService::planHitCount, FormValidationService::planMissCount);
+            bindCache(registry, "regex", regexCache, RegexCache::hitCount, RegexCache::missCount);
+            bindCache(registry, "form-config", formConfigCache, FormConfigCache::hitCount, FormConfigCache::missCount);
+            bindCache(registry, "validation-result", resultCache,
+                    ValidationResultCache::hitCount, ValidationResultCache::missCount);
+        };
+    }
+
+    /**
+     * Stored schemas may use any form id, so meters beyond this many forms are dropped rather than registered.
+     */
+    @Bean
+    public MeterFilter validationFormLimit(@Value("${dynamicforms.metrics.max-forms:1000}") int maxForms) {
+        return MeterFilter.maximumAllowableTags(ValidationMetrics.VALIDATION, "form", maxForms, MeterFilter.deny());
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String cache, T source,
+                                      ToLongFunction<T> hits, ToLongFunction<T> misses) {
+        FunctionCounter.builder("dynamicforms.cache.gets", source, value -> hits.applyAsLong(value))
+                .description("Cache lookups")
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("dynamicforms.cache.gets", source, value -> misses.applyAsLong(value))
+                .description("Cache lookups")
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+        Gauge.builder("dynamicforms.cache.hit.ratio", source, value -> {
+                    long hitCount = hits.applyAsLong(value);
+                    long total = hitCount + misses.applyAsLong(value);
+                    return total == 0 ? 0.0 : (double) hitCount / total;
+                })
+                .description("Share of cache lookups that were hits")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
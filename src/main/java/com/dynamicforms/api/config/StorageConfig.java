@@ -0,0 +1,31 @@
+package com.dynamicforms.api.config;
+
+import com.dynamicforms.api.repository.FileSchemaStore;
+import com.dynamicforms.api.repository.InMemorySchemaStore;
+import com.dynamicforms.api.repository.SchemaStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "dynamicforms.storage.type", havingValue = "file")
+    public SchemaStore fileSchemaStore(ObjectMapper objectMapper,
+                                       @Value("${dynamicforms.storage.directory:data/schemas}") String directory,
+                                       @Value("${dynamicforms.storage.fsync:true}") boolean fsync,
+                                       @Value("${dynamicforms.storage.snapshot-threshold:100000}") long snapshotThreshold) {
+        return new FileSchemaStore(Path.of(directory), objectMapper, fsync, snapshotThreshold);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "dynamicforms.storage.type", havingValue = "memory", matchIfMissing = true)
+    public SchemaStore inMemorySchemaStore() {
+        return new InMemorySchemaStore();
+    }
+}
@@ -20,6 +20,7 @@ public class WebConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "ETag", "X-Schema-Revision")
                 .allowCredentials(true);
     }
 }
@@ -1,57 +1,71 @@
 package com.dynamicforms.api.controller;
 
 import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.service.FormConfigCache;
 import com.dynamicforms.api.service.FormConfigService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/forms")
 @CrossOrigin(origins = {"http://localhost:4200", "http://localhost:4201", "http://localhost:5500", "http://127.0.0.1:5500", "http://localhost:3000", "http://localhost:8081"})
 public class FormConfigController {
 
     private final FormConfigService formConfigService;
+    private final FormConfigCache formConfigCache;
 
-    public FormConfigController(FormConfigService formConfigService) {
+    public FormConfigController(FormConfigService formConfigService, FormConfigCache formConfigCache) {
         this.formConfigService = formConfigService;
+        this.formConfigCache = formConfigCache;
     }
 
     @GetMapping("/registration")
-    public ResponseEntity<FormConfig> getRegistrationForm() {
-        return ResponseEntity.ok(formConfigService.getRegistrationFormConfig());
+    public ResponseEntity<byte[]> getRegistrationForm(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(formConfigService.getRegistrationFormConfig(), acceptEncoding);
     }
 
     @GetMapping("/contact")
-    public ResponseEntity<FormConfig> getContactForm() {
-        return ResponseEntity.ok(formConfigService.getContactFormConfig());
+    public ResponseEntity<byte[]> getContactForm(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(formConfigService.getContactFormConfig(), acceptEncoding);
     }
 
     @GetMapping("/conditional")
-    public ResponseEntity<FormConfig> getConditionalForm() {
-        return ResponseEntity.ok(formConfigService.getConditionalFormConfig());
+    public ResponseEntity<byte[]> getConditionalForm(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(formConfigService.getConditionalFormConfig(), acceptEncoding);
     }
 
     @GetMapping("/cross-validation")
-    public ResponseEntity<FormConfig> getCrossFieldValidationForm() {
-        return ResponseEntity.ok(formConfigService.getCrossFieldValidationFormConfig());
+    public ResponseEntity<byte[]> getCrossFieldValidationForm(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(formConfigService.getCrossFieldValidationFormConfig(), acceptEncoding);
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, FormConfig>> getAllForms() {
-        return ResponseEntity.ok(formConfigService.getAllForms());
+    public ResponseEntity<byte[]> getAllForms(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return FormConfigResponses.of(formConfigCache.forms(formConfigService.getAllForms()), acceptEncoding,
+                formConfigCache.getCacheControl());
     }
 
     @GetMapping("/{formId}")
-    public ResponseEntity<FormConfig> getFormById(@PathVariable String formId) {
-        Map<String, FormConfig> forms = formConfigService.getAllForms();
-        FormConfig formConfig = forms.get(formId);
+    public ResponseEntity<byte[]> getFormById(
+            @PathVariable String formId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FormConfig formConfig = formConfigService.getFormById(formId);
 
         if (formConfig != null) {
-            return ResponseEntity.ok(formConfig);
+            return respond(formConfig, acceptEncoding);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<byte[]> respond(FormConfig formConfig, String acceptEncoding) {
+        return FormConfigResponses.of(formConfigCache.form(formConfig), acceptEncoding,
+                formConfigCache.getCacheControl());
+    }
 }
@@ -0,0 +1,68 @@
+package com.dynamicforms.api.controller;
+
+import com.dynamicforms.api.service.FormConfigCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Writes pre-serialized form configs. A GET whose If-None-Match matches the ETag is answered with 304 and
+ * no body by Spring's {@code ResponseEntity} handling.
+ */
+final class FormConfigResponses {
+
+    private FormConfigResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(FormConfigCache.SerializedConfig config, String acceptEncoding,
+                                     CacheControl cacheControl) {
+        return of(ResponseEntity.ok(), config, acceptEncoding, cacheControl);
+    }
+
+    static ResponseEntity<byte[]> of(ResponseEntity.BodyBuilder response, FormConfigCache.SerializedConfig config,
+                                     String acceptEncoding, CacheControl cacheControl) {
+        response.contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl);
+        if (config.gzip() == null) {
+            return response.eTag(config.eTag()).body(config.json());
+        }
+
+        response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(config.gzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(config.gzip());
+        }
+        return response.eTag(config.eTag()).body(config.json());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,25 +1,155 @@
 package com.dynamicforms.api.controller;
 
 import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationMode;
 import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.service.BatchValidationService;
 import com.dynamicforms.api.service.FormValidationService;
+import com.dynamicforms.api.service.PlanResolution;
+import com.dynamicforms.api.service.StreamingValidationService;
+import com.dynamicforms.api.service.SubmissionBinder;
+import com.dynamicforms.api.service.SubmissionBinder.BoundSubmission;
+import com.dynamicforms.api.validation.SubmissionRejectedException;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/validate")
 @CrossOrigin(origins = {"http://localhost:4200", "http://localhost:4201", "http://localhost:5500", "http://127.0.0.1:5500", "http://localhost:3000", "http://localhost:8081"})
 public class FormValidationController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String APPLICATION_JSON_SUFFIX_VALUE = "application/*+json";
+
     private final FormValidationService validationService;
+    private final BatchValidationService batchValidationService;
+    private final StreamingValidationService streamingValidationService;
+    private final SubmissionBinder submissionBinder;
+    private final ObjectMapper objectMapper;
 
-    public FormValidationController(FormValidationService validationService) {
+    public FormValidationController(FormValidationService validationService,
+                                    BatchValidationService batchValidationService,
+                                    StreamingValidationService streamingValidationService,
+                                    SubmissionBinder submissionBinder, ObjectMapper objectMapper) {
         this.validationService = validationService;
+        this.batchValidationService = batchValidationService;
+        this.streamingValidationService = streamingValidationService;
+        this.submissionBinder = submissionBinder;
+        this.objectMapper = objectMapper;
     }
 
-    @PostMapping
-    public ResponseEntity<ValidationResponse> validateForm(@RequestBody FormSubmission submission) {
-        ValidationResponse response = validationService.validateFormSubmission(submission);
+    // Single submissions are bound by the service into the slots of their plan rather than into a map
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_JSON_SUFFIX_VALUE})
+    public ResponseEntity<ValidationResponse> validateForm(InputStream body,
+                                                           @RequestParam(required = false) String mode,
+                                                           @RequestParam(required = false) Integer maxErrors)
+            throws IOException {
+        BoundSubmission bound = submissionBinder.bind(body, true);
+        if (bound.rejection() != null) {
+            return ResponseEntity.ok(bound.rejection());
+        }
+        ValidationResponse response = validationService.validateRepeatable(bound.resolution(),
+                bound.submission().getData(), options(mode, maxErrors));
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(value = "/delta", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_JSON_SUFFIX_VALUE})
+    public ResponseEntity<ValidationResponse> validateChangedFields(InputStream body,
+                                                                    @RequestParam(required = false) String mode,
+                                                                    @RequestParam(required = false) Integer maxErrors)
+            throws IOException {
+        BoundSubmission bound = submissionBinder.bind(body, false);
+        if (bound.rejection() != null) {
+            return ResponseEntity.ok(bound.rejection());
+        }
+        return ResponseEntity.ok(validationService.validateChangedFields(bound.resolution(), bound.submission(),
+                options(mode, maxErrors)));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ValidationResponse>> validateBatch(InputStream body,
+                                                                  @RequestParam(required = false) String mode,
+                                                                  @RequestParam(required = false) Integer maxErrors)
+            throws IOException {
+        ValidationOptions options = options(mode, maxErrors);
+        return ResponseEntity.ok(batchValidationService.validateBatch(bindBatch(body, true), options));
+    }
+
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<ValidationResponse>> validateBatchNdjson(InputStream body,
+                                                                        @RequestParam(required = false) String mode,
+                                                                        @RequestParam(required = false) Integer maxErrors)
+            throws IOException {
+        ValidationOptions options = options(mode, maxErrors);
+        return ResponseEntity.ok(batchValidationService.validateBatch(bindBatch(body, false), options));
+    }
+
+    // Elements are read one at a time, so that an oversized batch is refused before the rest of it is read,
+    // and each is bound under the same limits as a single submission
+    private List<BoundSubmission> bindBatch(InputStream body, boolean array) throws IOException {
+        return submissionBinder.bindBatch(body, array, batchValidationService.getMaxBatchSize());
+    }
+
+    /**
+     * Validates an NDJSON stream of data records against one form or schema. The response is written
+     * as the request is read, so neither side is ever held in memory as a whole.
+     */
+    @PostMapping(value = "/stream", consumes = APPLICATION_NDJSON_VALUE, produces = APPLICATION_NDJSON_VALUE)
+    public void validateStream(@RequestParam(required = false) String formId,
+                               @RequestParam(required = false) String schemaId,
+                               @RequestParam(required = false) String schemaName,
+                               @RequestParam(required = false) String schemaVersion,
+                               @RequestParam(required = false) Long schemaRevision,
+                               @RequestParam(required = false) String mode,
+                               @RequestParam(required = false) Integer maxErrors,
+                               InputStream body, HttpServletResponse response) throws IOException {
+        FormSubmission target = FormSubmission.builder()
+                .formId(formId)
+                .schemaId(schemaId)
+                .schemaName(schemaName)
+                .schemaVersion(schemaVersion)
+                .schemaRevision(schemaRevision)
+                .build();
+        ValidationOptions options = options(mode, maxErrors);
+        PlanResolution resolution = validationService.resolve(target);
+        if (resolution.plan() == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), resolution.failure());
+            return;
+        }
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        streamingValidationService.validateStream(resolution, options, body, response.getOutputStream());
+    }
+
+    private static ValidationOptions options(String mode, Integer maxErrors) {
+        return ValidationOptions.of(mode != null ? ValidationMode.fromParameter(mode) : ValidationMode.ALL, maxErrors);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(SubmissionRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedSubmission(SubmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Map<String, String>> handleMalformedJson(JsonProcessingException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Malformed JSON: " + e.getOriginalMessage()));
+    }
 }
@@ -2,101 +2,317 @@ package com.dynamicforms.api.controller;
 
 import com.dynamicforms.api.model.FormSchema;
 import com.dynamicforms.api.model.SchemaCreateRequest;
+import com.dynamicforms.api.model.SchemaFacets;
 import com.dynamicforms.api.model.SchemaMetadata;
+import com.dynamicforms.api.model.SchemaPage;
+import com.dynamicforms.api.model.SchemaQuery;
+import com.dynamicforms.api.model.SchemaSearchHit;
+import com.dynamicforms.api.model.SchemaSortField;
+import com.dynamicforms.api.service.FormConfigCache;
+import com.dynamicforms.api.service.SchemaConflictException;
 import com.dynamicforms.api.service.SchemaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/schemas")
 @CrossOrigin(origins = {"http://localhost:4200", "http://localhost:4201", "http://localhost:5500", "http://127.0.0.1:5500", "http://localhost:3000", "http://localhost:8081"})
 public class SchemaController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String SCHEMA_REVISION_HEADER = "X-Schema-Revision";
+
+    private static final List<String> METADATA_FIELDS = List.of("schemaId", "schemaName", "schemaVersion",
+            "revision", "description", "status", "tags", "createdAt", "updatedAt", "createdBy");
+
     private final SchemaService schemaService;
+    private final FormConfigCache formConfigCache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public SchemaController(SchemaService schemaService) {
+    public SchemaController(SchemaService schemaService, FormConfigCache formConfigCache,
+                            @Value("${dynamicforms.schemas.default-page-size:50}") int defaultPageSize,
+                            @Value("${dynamicforms.schemas.max-page-size:500}") int maxPageSize) {
         this.schemaService = schemaService;
+        this.formConfigCache = formConfigCache;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping
     public ResponseEntity<FormSchema> createSchema(@RequestBody SchemaCreateRequest request) {
         FormSchema schema = schemaService.createSchema(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(schema);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(schema)).body(schema);
     }
 
+    // The ETag of a schema is its revision; send it back in If-Match to update only that revision
     @GetMapping("/{schemaId}")
     public ResponseEntity<FormSchema> getSchemaById(@PathVariable String schemaId) {
         return schemaService.getSchemaById(schemaId)
-                .map(ResponseEntity::ok)
+                .map(SchemaController::withETag)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{schemaId}/revisions")
+    public ResponseEntity<List<FormSchema>> getSchemaRevisions(@PathVariable String schemaId) {
+        List<FormSchema> revisions = schemaService.getSchemaHistory(schemaId);
+        return revisions.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(revisions);
+    }
+
+    @GetMapping("/{schemaId}/revisions/{revision}")
+    public ResponseEntity<FormSchema> getSchemaRevision(@PathVariable String schemaId, @PathVariable long revision) {
+        return schemaService.getSchemaRevision(schemaId, revision)
+                .map(SchemaController::withETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<FormSchema>> getAllSchemas(
+    public ResponseEntity<List<?>> getAllSchemas(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String tag,
-            @RequestParam(required = false) String name) {
-
-        List<FormSchema> schemas;
-
-        if (status != null) {
-            schemas = schemaService.getSchemasByStatus(status);
-        } else if (tag != null) {
-            schemas = schemaService.getSchemasByTag(tag);
-        } else if (name != null) {
-            schemas = schemaService.getSchemasByName(name);
-        } else {
-            schemas = schemaService.getAllSchemas();
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<String> excludeTag,
+            @RequestParam(required = false) List<String> excludeStatus,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+
+        // Without paging or sorting parameters the full, unordered list is returned as before.
+        // Filters combine with AND semantics; tag may be repeated, and every given tag must be present.
+        SchemaQuery.SchemaQueryBuilder filters = filters(status, tag, name, excludeTag, excludeStatus);
+        if (sort == null && order == null && limit == null && cursor == null) {
+            List<FormSchema> schemas = schemaService.findSchemas(filters.build());
+            return ResponseEntity.ok(project(schemas, fields));
         }
 
-        return ResponseEntity.ok(schemas);
+        SchemaPage<FormSchema> page = schemaService.findSchemaPage(
+                buildQuery(filters, sort, order, limit, cursor));
+        return withNextCursor(page.getNextCursor(), project(page.getItems(), fields));
+    }
+
+    // Counts of the filtered schemas per tag and per status
+    @GetMapping("/facets")
+    public ResponseEntity<SchemaFacets> getSchemaFacets(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<String> excludeTag,
+            @RequestParam(required = false) List<String> excludeStatus,
+            @RequestParam(required = false) Integer limit) {
+
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        SchemaQuery query = filters(status, tag, name, excludeTag, excludeStatus).build();
+        return ResponseEntity.ok(schemaService.countSchemaFacets(query, limit));
+    }
+
+    // Ranked search over names, descriptions, tags and field names, labels and placeholders, returned as metadata
+    @GetMapping("/search")
+    public ResponseEntity<List<?>> searchSchemas(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<String> excludeTag,
+            @RequestParam(required = false) List<String> excludeStatus,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        SchemaQuery query = buildQuery(filters(status, tag, name, excludeTag, excludeStatus), null, null,
+                limit != null ? limit : defaultPageSize, cursor);
+        SchemaPage<SchemaSearchHit<SchemaMetadata>> page = schemaService.searchSchemas(q, query);
+        return withNextCursor(page.getNextCursor(), page.getItems());
     }
 
     @GetMapping("/metadata")
-    public ResponseEntity<List<SchemaMetadata>> getAllSchemaMetadata() {
-        List<SchemaMetadata> metadata = schemaService.getAllSchemaMetadata();
-        return ResponseEntity.ok(metadata);
+    public ResponseEntity<List<?>> getAllSchemaMetadata(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+
+        if (fields != null) {
+            List<String> fieldList = parseFields(fields);
+            if (!METADATA_FIELDS.containsAll(fieldList)) {
+                throw new IllegalArgumentException("Metadata fields must be among " + METADATA_FIELDS);
+            }
+        }
+
+        if (sort == null && order == null && limit == null && cursor == null && fields == null) {
+            List<SchemaMetadata> metadata = schemaService.getAllSchemaMetadata();
+            return ResponseEntity.ok(metadata);
+        }
+
+        if (fields != null) {
+            SchemaPage<FormSchema> page = schemaService.findSchemaPage(
+                    buildQuery(SchemaQuery.builder(), sort, order, limit, cursor));
+            return withNextCursor(page.getNextCursor(), project(page.getItems(), fields));
+        }
+
+        SchemaPage<SchemaMetadata> page = schemaService.findSchemaMetadataPage(
+                buildQuery(SchemaQuery.builder(), sort, order, limit, cursor));
+        return withNextCursor(page.getNextCursor(), page.getItems());
     }
 
     @PutMapping("/{schemaId}")
     public ResponseEntity<FormSchema> updateSchema(
             @PathVariable String schemaId,
-            @RequestBody SchemaCreateRequest request) {
+            @RequestBody SchemaCreateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return schemaService.updateSchema(schemaId, request)
-                .map(ResponseEntity::ok)
+        return schemaService.updateSchema(schemaId, request, expectedRevision(ifMatch))
+                .map(SchemaController::withETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PatchMapping("/{schemaId}/status")
     public ResponseEntity<FormSchema> updateSchemaStatus(
             @PathVariable String schemaId,
-            @RequestBody Map<String, String> statusUpdate) {
+            @RequestBody Map<String, String> statusUpdate,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         String status = statusUpdate.get("status");
         if (status == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        return schemaService.updateSchemaStatus(schemaId, status)
-                .map(ResponseEntity::ok)
+        return schemaService.updateSchemaStatus(schemaId, status, expectedRevision(ifMatch))
+                .map(SchemaController::withETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{schemaId}")
-    public ResponseEntity<Void> deleteSchema(@PathVariable String schemaId) {
-        boolean deleted = schemaService.deleteSchema(schemaId);
+    public ResponseEntity<Void> deleteSchema(
+            @PathVariable String schemaId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean deleted = schemaService.deleteSchema(schemaId, expectedRevision(ifMatch));
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/{schemaId}/form-config")
-    public ResponseEntity<Object> getFormConfigBySchemaId(@PathVariable String schemaId) {
+    public ResponseEntity<byte[]> getFormConfigBySchemaId(
+            @PathVariable String schemaId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         return schemaService.getSchemaById(schemaId)
-                .map(schema -> ResponseEntity.ok((Object) schema.getFormConfig()))
+                .map(schema -> FormConfigResponses.of(
+                        ResponseEntity.ok().header(SCHEMA_REVISION_HEADER, Long.toString(schema.getRevision())),
+                        formConfigCache.schema(schema), acceptEncoding, formConfigCache.getCacheControl()))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(SchemaConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(SchemaConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(eTag(e.getCurrentRevision()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    private static ResponseEntity<FormSchema> withETag(FormSchema schema) {
+        return ResponseEntity.ok().eTag(eTag(schema)).body(schema);
+    }
+
+    private static String eTag(FormSchema schema) {
+        return eTag(schema.getRevision());
+    }
+
+    private static String eTag(long revision) {
+        return "\"" + revision + "\"";
+    }
+
+    /**
+     * The revision an If-Match header asks for, or {@code null} when any revision will do. A tag that is
+     * weak or not a revision can never match, so it is mapped to a revision that does not exist.
+     */
+    private static Long expectedRevision(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static SchemaQuery.SchemaQueryBuilder filters(String status, List<String> tags, String name,
+                                                          List<String> excludedTags, List<String> excludedStatuses) {
+        return SchemaQuery.builder()
+                .status(status)
+                .tags(tags)
+                .schemaName(name)
+                .excludedTags(excludedTags)
+                .excludedStatuses(excludedStatuses);
+    }
+
+    private SchemaQuery buildQuery(SchemaQuery.SchemaQueryBuilder filters, String sort, String order,
+                                   Integer limit, String cursor) {
+        if (order != null && !"asc".equals(order) && !"desc".equals(order)) {
+            throw new IllegalArgumentException("order must be 'asc' or 'desc'");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+
+        // Sorting or paging returns one page, of the default size unless a limit is given
+        Integer pageSize = limit;
+        if (pageSize == null && (sort != null || order != null || cursor != null)) {
+            pageSize = defaultPageSize;
+        }
+        if (pageSize != null) {
+            pageSize = Math.min(pageSize, maxPageSize);
+        }
+
+        return filters
+                .sortBy(sort != null ? SchemaSortField.fromParameter(sort) : SchemaSortField.UPDATED_AT)
+                .descending("desc".equals(order))
+                .limit(pageSize)
+                .cursor(cursor)
+                .build();
+    }
+
+    private List<?> project(List<FormSchema> schemas, String fields) {
+        if (fields == null) {
+            return schemas;
+        }
+        List<String> fieldList = parseFields(fields);
+        return schemas.stream()
+                .map(schema -> schemaService.project(schema, fieldList))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> parseFields(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static ResponseEntity<List<?>> withNextCursor(String nextCursor, List<?> items) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
 }
@@ -6,9 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class CrossFieldValidation {
@@ -17,4 +18,8 @@ public class CrossFieldValidation {
     private String operator;        // e.g., "equals", "greaterThan", "lessThan", "greaterThanOrEqual", "lessThanOrEqual"
     private String errorMessage;
     private String errorField;      // Which field should display the error (optional)
+
+    public CrossFieldValidation copy() {
+        return toBuilder().fields(ModelCopies.list(fields, UnaryOperator.identity())).build();
+    }
 }
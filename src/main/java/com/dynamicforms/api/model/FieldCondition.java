@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class FieldCondition {
@@ -17,4 +17,11 @@ public class FieldCondition {
     private Object value;
     private List<Object> values;
     private String action;
+
+    public FieldCondition copy() {
+        return toBuilder()
+                .value(ModelCopies.value(value))
+                .values(ModelCopies.list(values, ModelCopies::value))
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.dynamicforms.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class FormConfig {
@@ -19,4 +20,17 @@ public class FormConfig {
     private String submitButtonText;
     private String cancelButtonText;
     private List<CrossFieldValidation> crossFieldValidations;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private FormLimits limits;
+
+    /**
+     * A deep copy, sharing no mutable state with this config.
+     */
+    public FormConfig copy() {
+        return toBuilder()
+                .fields(ModelCopies.list(fields, FormField::copy))
+                .crossFieldValidations(ModelCopies.list(crossFieldValidations, CrossFieldValidation::copy))
+                .limits(limits != null ? limits.toBuilder().build() : null)
+                .build();
+    }
 }
@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class FormField {
@@ -26,4 +26,14 @@ public class FormField {
     private String cssClass;
     private List<FieldCondition> conditions;
     private Boolean hidden;
+
+    public FormField copy() {
+        return toBuilder()
+                .defaultValue(ModelCopies.value(defaultValue))
+                .validations(ModelCopies.list(validations, ValidationRule::copy))
+                .options(ModelCopies.list(options, SelectOption::copy))
+                .attributes(ModelCopies.map(attributes))
+                .conditions(ModelCopies.list(conditions, FieldCondition::copy))
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package com.dynamicforms.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Limits on the submissions of one form, applied while the submitted data is parsed. Unset limits take the
+ * {@code dynamicforms.submissions.*} defaults.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormLimits {
+    private Integer maxPayloadBytes;        // Size of the request body, or of one record of a stream
+    private Integer maxDepth;               // Nesting of objects and arrays in the data, the data object being 1
+    private Integer maxKeys;                // Keys in the data, at any depth
+    private Boolean rejectUnknownFields;    // Reject data keys that no rule or condition reads
+    private Integer overlongMargin;         // Reject values this many characters beyond their maxLength; -1 never
+}
@@ -1,26 +1,30 @@
 package com.dynamicforms.api.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * An immutable snapshot of a stored schema. Every save stores a new snapshot with the next {@code revision},
+ * assigned by the repository; {@code schemaVersion} is the caller's own label and is not checked. The repository
+ * stores its own copy of the form config and tags, which readers must not change.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 public class FormSchema {
-    private String schemaId;
-    private String schemaName;
-    private String schemaVersion;
-    private String description;
-    private FormConfig formConfig;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private String createdBy;
-    private String status;
-    private List<String> tags;
+    String schemaId;
+    String schemaName;
+    String schemaVersion;
+    long revision;
+    String description;
+    FormConfig formConfig;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    String createdBy;
+    String status;
+    List<String> tags;
 }
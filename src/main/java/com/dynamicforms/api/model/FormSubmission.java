@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -13,5 +14,10 @@ import java.util.Map;
 @AllArgsConstructor
 public class FormSubmission {
     private String formId;
+    private String schemaId;        // Validate against a stored schema by id...
+    private String schemaName;      // ...or by schema name and version
+    private String schemaVersion;
+    private Long schemaRevision;    // Pins the stored schema to the revision the form was rendered from
     private Map<String, Object> data;
+    private List<String> changedFields; // Delta validation: only rules affected by these fields are run
 }
@@ -0,0 +1,50 @@
+package com.dynamicforms.api.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deep copies of the parts of form configs, for snapshots that share no mutable state with their source.
+ */
+final class ModelCopies {
+
+    private ModelCopies() {
+    }
+
+    static <T> List<T> list(List<T> list, UnaryOperator<T> copy) {
+        if (list == null) {
+            return null;
+        }
+        List<T> copied = new ArrayList<>(list.size());
+        for (T element : list) {
+            copied.add(element != null ? copy.apply(element) : null);
+        }
+        return copied;
+    }
+
+    static Map<String, Object> map(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Map<String, Object> copied = new LinkedHashMap<>(map.size() * 2);
+        map.forEach((key, value) -> copied.put(key, value(value)));
+        return copied;
+    }
+
+    // JSON values: maps and lists are copied, strings, numbers and booleans are immutable
+    @SuppressWarnings("unchecked")
+    static Object value(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copied = new LinkedHashMap<>(map.size() * 2);
+            map.forEach((key, element) -> copied.put(key, value(element)));
+            return copied;
+        }
+        if (value instanceof List<?> list) {
+            return list((List<Object>) list, ModelCopies::value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dynamicforms.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaFacets {
+    private int total;
+    private Map<String, Integer> tags;      // most frequent first, ties by name
+    private Map<String, Integer> statuses;
+}
@@ -16,6 +16,7 @@ public class SchemaMetadata {
     private String schemaId;
     private String schemaName;
     private String schemaVersion;
+    private long revision;
     private String description;
     private String status;
     private List<String> tags;
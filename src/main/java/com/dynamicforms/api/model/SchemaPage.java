@@ -0,0 +1,17 @@
+package com.dynamicforms.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaPage<T> {
+    private List<T> items;
+    private String nextCursor;      // null on the last page
+}
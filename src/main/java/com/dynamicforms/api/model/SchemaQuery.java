@@ -0,0 +1,25 @@
+package com.dynamicforms.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaQuery {
+    private String status;
+    private List<String> tags;              // every tag must be present
+    private List<String> excludedTags;      // none may be present
+    private List<String> excludedStatuses;
+    private String schemaName;
+    @Builder.Default
+    private SchemaSortField sortBy = SchemaSortField.UPDATED_AT;
+    private boolean descending;
+    private Integer limit;          // null returns every match
+    private String cursor;          // opaque keyset cursor from a previous page
+}
@@ -0,0 +1,15 @@
+package com.dynamicforms.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaSearchHit<T> {
+    private T schema;
+    private double score;           // relative to the other hits of the same search
+}
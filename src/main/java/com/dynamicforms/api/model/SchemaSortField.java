@@ -0,0 +1,27 @@
+package com.dynamicforms.api.model;
+
+public enum SchemaSortField {
+    UPDATED_AT("updatedAt"),
+    CREATED_AT("createdAt"),
+    SCHEMA_NAME("schemaName"),
+    SCHEMA_ID("schemaId");
+
+    private final String parameterName;
+
+    SchemaSortField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public static SchemaSortField fromParameter(String parameter) {
+        for (SchemaSortField field : values()) {
+            if (field.parameterName.equals(parameter)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + parameter);
+    }
+}
@@ -6,10 +6,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SelectOption {
     private String label;
     private Object value;
+
+    public SelectOption copy() {
+        return toBuilder().value(ModelCopies.value(value)).build();
+    }
 }
@@ -0,0 +1,26 @@
+package com.dynamicforms.api.model;
+
+public enum ValidationMode {
+    ALL("all"),                                       // Every error, in declaration order
+    FIRST_ERROR_PER_FIELD("firstErrorPerField"),      // At most one error per field
+    FAIL_FAST("failFast");                            // Stop at the first error; only the valid flag is meaningful
+
+    private final String parameterName;
+
+    ValidationMode(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public static ValidationMode fromParameter(String parameter) {
+        for (ValidationMode mode : values()) {
+            if (mode.parameterName.equals(parameter)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported validation mode: " + parameter);
+    }
+}
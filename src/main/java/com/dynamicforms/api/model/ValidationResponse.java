@@ -1,5 +1,6 @@
 package com.dynamicforms.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,4 +16,6 @@ public class ValidationResponse {
     private boolean valid;
     private List<ValidationError> errors;
     private String message;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> validatedFields;   // Set by delta validation: the fields whose errors were recomputed
 }
@@ -6,11 +6,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ValidationRule {
     private String name;
     private Object value;
     private String errorMessage;
+
+    public ValidationRule copy() {
+        return toBuilder().value(ModelCopies.value(value)).build();
+    }
 }
@@ -0,0 +1,538 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormSchema;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * File-based {@link SchemaStore}: an append-only write-ahead log plus periodic compacted snapshots.
+ *
+ * <p>The directory holds {@code snapshot-N.dat} files, each the complete state as of the start of
+ * {@code wal-N.log}, and the WAL segments that follow it. A single writer thread drains queued writes,
+ * appends them with one gathering write and fsyncs once per batch (group commit). On startup the
+ * newest complete snapshot is loaded and the later segments are replayed; records are decoded in
+ * parallel batches from memory-mapped files.
+ *
+ * <p>A failed append may leave a torn record at the end of the segment. The segment is cut back to its
+ * last complete batch and the store then rejects every further write until restart, so no acknowledged
+ * record is ever appended after a torn one and dropped with it on replay.
+ */
+public class FileSchemaStore implements SchemaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSchemaStore.class);
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte END = 3;
+
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MAX_BATCH = 1024;
+    private static final int DECODE_BATCH = 16384;
+
+    private final Path directory;
+    private final ObjectReader schemaReader;
+    private final ObjectWriter schemaWriter;
+    private final boolean fsync;
+    private final long snapshotThreshold;
+
+    private final BlockingQueue<WriteOp> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(
+            runnable -> daemon(runnable, "schema-store-snapshot"));
+
+    private Thread writerThread;
+    private FileChannel wal;            // owned by the writer thread once loaded
+    private long walCommitted;          // bytes of the current segment holding complete batches; writer thread only
+    private volatile Exception failure;
+    private volatile long generation;
+    private volatile boolean closed;
+
+    public FileSchemaStore(Path directory, ObjectMapper objectMapper, boolean fsync, long snapshotThreshold) {
+        this.directory = directory;
+        this.schemaReader = objectMapper.readerFor(FormSchema.class);
+        this.schemaWriter = objectMapper.writerFor(FormSchema.class);
+        this.fsync = fsync;
+        this.snapshotThreshold = snapshotThreshold;
+    }
+
+    @Override
+    public synchronized Collection<FormSchema> load() {
+        if (writerThread != null) {
+            throw new IllegalStateException("Schema store already loaded");
+        }
+        try {
+            Files.createDirectories(directory);
+            for (Path temp : list(TEMP_SUFFIX)) {
+                Files.deleteIfExists(temp);
+            }
+
+            Map<String, FormSchema> state = new HashMap<>();
+            long base = loadNewestSnapshot(state);
+
+            long replayed = 0;
+            long lastGeneration = base;
+            List<Long> walGenerations = generations(WAL_PREFIX, WAL_SUFFIX);
+            for (long walGeneration : walGenerations) {
+                if (walGeneration < base) {
+                    continue;
+                }
+                replayed += replay(walFile(walGeneration), state);
+                lastGeneration = walGeneration;
+            }
+
+            generation = lastGeneration;
+            recordsSinceSnapshot.set(replayed);
+            wal = openWal(walFile(generation));
+            walCommitted = wal.size();
+            syncDirectory();
+
+            writerThread = daemon(this::writeLoop, "schema-store-writer");
+            writerThread.start();
+
+            log.info("Loaded {} schemas from {} ({} WAL records replayed)", state.size(), directory, replayed);
+            return state.values();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load schemas from " + directory, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> save(FormSchema schema) {
+        return append(PUT, serialize(schema));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String schemaId) {
+        return append(DELETE, schemaId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean needsCompaction() {
+        return recordsSinceSnapshot.get() >= snapshotThreshold && !compacting.get() && failure == null;
+    }
+
+    @Override
+    public void compact(List<FormSchema> schemas) {
+        if (closed || failure != null || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+
+        // New writes go to the next segment; the snapshot covers everything before it
+        long snapshotGeneration = generation + 1;
+        generation = snapshotGeneration;
+        recordsSinceSnapshot.set(0);
+        CompletableFuture<Void> rotated = new CompletableFuture<>();
+        queue.add(WriteOp.rotate(snapshotGeneration, rotated));
+
+        snapshotExecutor.execute(() -> {
+            try {
+                rotated.join();
+                writeSnapshot(snapshotGeneration, schemas);
+                deleteObsoleteFiles(snapshotGeneration);
+            } catch (Exception e) {
+                log.error("Failed to write schema snapshot {}", snapshotGeneration, e);
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writerThread != null) {
+            CompletableFuture<Void> stopped = new CompletableFuture<>();
+            queue.add(WriteOp.shutdown(stopped));
+            stopped.join();
+        }
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> append(byte type, byte[] payload) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Schema store is closed"));
+            return future;
+        }
+        if (failure != null) {
+            future.completeExceptionally(failed());
+            return future;
+        }
+        queue.add(WriteOp.record(frame(type, payload), future));
+        recordsSinceSnapshot.incrementAndGet();
+        return future;
+    }
+
+    private void writeLoop() {
+        List<WriteOp> batch = new ArrayList<>(MAX_BATCH);
+        List<ByteBuffer> buffers = new ArrayList<>(MAX_BATCH);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(MAX_BATCH);
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            CompletableFuture<Void> shutdown = null;
+            try {
+                for (WriteOp op : batch) {
+                    if (op.shutdown()) {
+                        shutdown = op.future();
+                    } else if (failure != null) {
+                        op.future().completeExceptionally(failed());
+                    } else if (op.record() != null) {
+                        buffers.add(op.record());
+                        pending.add(op.future());
+                    } else {
+                        commit(buffers, pending);
+                        rotate(op.generation());
+                        op.future().complete(null);
+                    }
+                }
+                commit(buffers, pending);
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+                for (WriteOp op : batch) {
+                    if (!op.shutdown()) {
+                        op.future().completeExceptionally(e);
+                    }
+                }
+                buffers.clear();
+                pending.clear();
+            }
+            batch.clear();
+
+            if (shutdown != null) {
+                closeQuietly(wal);
+                shutdown.complete(null);
+                return;
+            }
+        }
+    }
+
+    // One gathering write and one fsync for every record in the batch
+    private void commit(List<ByteBuffer> buffers, List<CompletableFuture<Void>> pending) throws IOException {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= wal.write(array);
+        }
+        if (fsync) {
+            wal.force(false);
+        }
+        walCommitted = wal.size();
+        for (CompletableFuture<Void> future : pending) {
+            future.complete(null);
+        }
+        buffers.clear();
+        pending.clear();
+    }
+
+    private void rotate(long newGeneration) throws IOException {
+        if (fsync) {
+            wal.force(false);
+        }
+        wal.close();
+        wal = openWal(walFile(newGeneration));
+        walCommitted = wal.size();
+        syncDirectory();
+    }
+
+    // Cuts off whatever part of the failed batch reached the segment, then stops taking writes
+    private void fail(Exception e) {
+        log.error("Failed to append to schema WAL; rejecting further schema writes", e);
+        failure = e;
+        try {
+            if (wal.isOpen()) {
+                wal.truncate(walCommitted);
+                wal.force(false);
+            }
+        } catch (IOException | RuntimeException truncateFailure) {
+            log.warn("Failed to truncate schema WAL; the torn record is dropped on the next startup",
+                    truncateFailure);
+        }
+    }
+
+    private IllegalStateException failed() {
+        return new IllegalStateException("Schema store stopped taking writes after a WAL failure", failure);
+    }
+
+    FileChannel openWal(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void writeSnapshot(long snapshotGeneration, List<FormSchema> schemas) throws IOException {
+        Path target = snapshotFile(snapshotGeneration);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (int from = 0; from < schemas.size(); from += DECODE_BATCH) {
+                List<FormSchema> chunk = schemas.subList(from, Math.min(from + DECODE_BATCH, schemas.size()));
+                ByteBuffer[] records = chunk.parallelStream()
+                        .map(schema -> frame(PUT, serialize(schema)))
+                        .toArray(ByteBuffer[]::new);
+                writeFully(channel, records);
+            }
+            writeFully(channel, new ByteBuffer[]{
+                    frame(END, ByteBuffer.allocate(Long.BYTES).putLong(schemas.size()).array())});
+            channel.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        log.info("Wrote schema snapshot {} with {} schemas", target.getFileName(), schemas.size());
+    }
+
+    private void deleteObsoleteFiles(long snapshotGeneration) throws IOException {
+        for (long walGeneration : generations(WAL_PREFIX, WAL_SUFFIX)) {
+            if (walGeneration < snapshotGeneration) {
+                Files.deleteIfExists(walFile(walGeneration));
+            }
+        }
+        for (long older : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (older < snapshotGeneration) {
+                Files.deleteIfExists(snapshotFile(older));
+            }
+        }
+    }
+
+    // Returns the generation of the snapshot that was loaded, or 0 when there is none
+    private long loadNewestSnapshot(Map<String, FormSchema> state) throws IOException {
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            long snapshotGeneration = snapshots.get(i);
+            Map<String, FormSchema> candidate = new HashMap<>();
+            boolean[] complete = new boolean[1];
+            BatchDecoder decoder = new BatchDecoder(candidate);
+            LogReader.read(snapshotFile(snapshotGeneration), (type, payload) -> {
+                if (type == END) {
+                    complete[0] = true;
+                } else {
+                    decoder.add(type, payload);
+                }
+            });
+            decoder.flush();
+
+            if (complete[0]) {
+                state.putAll(candidate);
+                return snapshotGeneration;
+            }
+            log.warn("Ignoring incomplete schema snapshot {}", snapshotFile(snapshotGeneration));
+        }
+        return 0;
+    }
+
+    private long replay(Path walFile, Map<String, FormSchema> state) throws IOException {
+        BatchDecoder decoder = new BatchDecoder(state);
+        long validBytes = LogReader.read(walFile, decoder::add);
+        decoder.flush();
+
+        long size = Files.size(walFile);
+        if (validBytes < size) {
+            log.warn("Truncating {} at offset {} ({} trailing bytes were incomplete or corrupt)",
+                    walFile, validBytes, size - validBytes);
+            try (FileChannel channel = FileChannel.open(walFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return decoder.records;
+    }
+
+    private byte[] serialize(FormSchema schema) {
+        try {
+            return schemaWriter.writeValueAsBytes(schema);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Schema " + schema.getSchemaId() + " cannot be serialized", e);
+        }
+    }
+
+    private FormSchema deserialize(byte[] payload) {
+        try {
+            return schemaReader.readValue(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable schema record in " + directory, e);
+        }
+    }
+
+    private static ByteBuffer frame(byte type, byte[] payload) {
+        if (payload.length > LogReader.MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Schema record exceeds " + LogReader.MAX_RECORD_BYTES + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LogReader.HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length)
+                .putInt(LogReader.checksum(type, payload))
+                .put(type)
+                .put(payload)
+                .flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        for (Path file : list(suffix)) {
+            String name = file.getFileName().toString();
+            if (name.startsWith(prefix)) {
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).toList();
+        }
+    }
+
+    private Path walFile(long walGeneration) {
+        return directory.resolve(String.format("%s%020d%s", WAL_PREFIX, walGeneration, WAL_SUFFIX));
+    }
+
+    private Path snapshotFile(long snapshotGeneration) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX));
+    }
+
+    // Makes file creations and renames in the directory durable; not supported on every platform
+    private void syncDirectory() {
+        if (!fsync) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Best effort
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close schema WAL", e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Decodes PUT payloads in parallel, then applies records to the state in log order.
+     */
+    private final class BatchDecoder {
+
+        private final Map<String, FormSchema> state;
+        private final List<byte[]> payloads = new ArrayList<>(DECODE_BATCH);
+        private final ByteBuffer types = ByteBuffer.allocate(DECODE_BATCH);
+        private long records;
+
+        BatchDecoder(Map<String, FormSchema> state) {
+            this.state = state;
+        }
+
+        void add(byte type, byte[] payload) {
+            payloads.add(payload);
+            types.put(type);
+            records++;
+            if (payloads.size() == DECODE_BATCH) {
+                flush();
+            }
+        }
+
+        void flush() {
+            FormSchema[] decoded = new FormSchema[payloads.size()];
+            IntStream.range(0, decoded.length).parallel().forEach(i -> {
+                if (types.get(i) == PUT) {
+                    decoded[i] = deserialize(payloads.get(i));
+                }
+            });
+
+            for (int i = 0; i < decoded.length; i++) {
+                if (types.get(i) == PUT) {
+                    state.put(decoded[i].getSchemaId(), decoded[i]);
+                } else if (types.get(i) == DELETE) {
+                    state.remove(new String(payloads.get(i), StandardCharsets.UTF_8));
+                }
+            }
+            payloads.clear();
+            types.clear();
+        }
+    }
+
+    private record WriteOp(ByteBuffer record, long generation, boolean shutdown, CompletableFuture<Void> future) {
+
+        static WriteOp record(ByteBuffer record, CompletableFuture<Void> future) {
+            return new WriteOp(record, 0, false, future);
+        }
+
+        static WriteOp rotate(long generation, CompletableFuture<Void> future) {
+            return new WriteOp(null, generation, false, future);
+        }
+
+        static WriteOp shutdown(CompletableFuture<Void> future) {
+            return new WriteOp(null, 0, true, future);
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package com.dynamicforms.api.repository;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, used for the dense ids of indexed schemas. Ids are grouped in chunks of
+ * 65536 by their high 16 bits; a chunk holds its low bits as a sorted array while it has at most 4096 of them,
+ * and as a 65536-bit bitmap beyond that, so sparse and dense sets both stay small and fast to intersect.
+ * <p>
+ * Not thread-safe; {@link SchemaRepository} guards its bitmaps with its index lock. Bitmaps it hands out of
+ * its indexes are {@link #readOnly() read-only views}, so that a caller cannot change an index by accident.
+ */
+final class IdBitmap {
+
+    static final IdBitmap EMPTY = new IdBitmap().readOnly();
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1 << 10;
+
+    private char[] keys;
+    private Chunk[] chunks;
+    private int size;
+    private final boolean readOnly;
+
+    IdBitmap() {
+        this(0);
+    }
+
+    private IdBitmap(int capacity) {
+        this(new char[capacity], new Chunk[capacity], 0, false);
+    }
+
+    private IdBitmap(char[] keys, Chunk[] chunks, int size, boolean readOnly) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.size = size;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * A view of this bitmap that rejects changes. It shares this bitmap's chunks, so it only stays valid until
+     * this bitmap changes.
+     */
+    IdBitmap readOnly() {
+        return readOnly ? this : new IdBitmap(keys, chunks, size, true);
+    }
+
+    boolean add(int id) {
+        checkWritable();
+        char key = (char) (id >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayChunk(new char[4], 0));
+        }
+        Chunk chunk = chunks[index];
+        int before = chunk.cardinality();
+        chunks[index] = chunk.add((char) id);
+        return chunks[index].cardinality() != before;
+    }
+
+    boolean remove(int id) {
+        checkWritable();
+        int index = indexOf((char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Chunk chunk = chunks[index];
+        int before = chunk.cardinality();
+        Chunk result = chunk.remove((char) id);
+        if (result.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+            chunks[--size] = null;
+        } else {
+            chunks[index] = result;
+        }
+        return result.cardinality() != before;
+    }
+
+    boolean contains(int id) {
+        int index = indexOf((char) (id >>> 16));
+        return index >= 0 && chunks[index].contains((char) id);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap(Math.min(size, other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], chunks[i].and(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    IdBitmap andNot(IdBitmap other) {
+        IdBitmap result = new IdBitmap(size);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            result.append(keys[i], j < other.size && other.keys[j] == keys[i]
+                    ? chunks[i].andNot(other.chunks[j]) : chunks[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Adds every id of {@code other}.
+     */
+    void addAll(IdBitmap other) {
+        checkWritable();
+        for (int j = 0; j < other.size; j++) {
+            int index = indexOf(other.keys[j]);
+            if (index < 0) {
+                insert(-index - 1, other.keys[j], other.chunks[j].copy());
+            } else {
+                chunks[index] = chunks[index].addAll(other.chunks[j]);
+            }
+        }
+    }
+
+    /**
+     * The cardinality of {@code and(other)}, without building it.
+     */
+    int andCardinality(IdBitmap other) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += chunks[i].andCardinality(other.chunks[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Calls {@code action} with every id, in ascending order.
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            chunks[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Bitmap is read-only");
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, char key, Chunk chunk) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        size++;
+    }
+
+    // Chunks of a result are produced in key order; empty ones are dropped
+    private void append(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            ensureCapacity();
+            keys[size] = key;
+            chunks[size++] = chunk;
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+    }
+
+    private abstract static sealed class Chunk permits ArrayChunk, BitmapChunk {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        // Return the chunk that holds the result, which may be this one or a chunk of the other kind
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk andNot(Chunk other);
+
+        abstract Chunk or(Chunk other);
+
+        // Like or, but may update this chunk instead of building a new one
+        abstract Chunk addAll(Chunk other);
+
+        abstract int andCardinality(Chunk other);
+
+        abstract Chunk copy();
+
+        abstract void forEach(int high, IntConsumer action);
+    }
+
+    private static final class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayChunk(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                BitmapChunk bitmap = toBitmap();
+                return bitmap.add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            ArrayChunk array = (ArrayChunk) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayChunk union = new ArrayChunk(result, count);
+            return count > ARRAY_MAX ? union.toBitmap() : union;
+        }
+
+        @Override
+        Chunk addAll(Chunk other) {
+            return or(other);
+        }
+
+        @Override
+        int andCardinality(Chunk other) {
+            if (other instanceof ArrayChunk array) {
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+                return count;
+            }
+            return other.andCardinality(this);
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        private BitmapChunk toBitmap() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapChunk(words, cardinality);
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            long word = words[value >>> 6];
+            long updated = word | (1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            long word = words[value >>> 6];
+            long updated = word & ~(1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality--;
+            }
+            return cardinality > ARRAY_MAX ? this : toArray(words, cardinality);
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            long[] result = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return count > ARRAY_MAX ? new BitmapChunk(result, count) : toArray(result, count);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            long[] result = words.clone();
+            int count = cardinality;
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.values[i];
+                    if ((result[value >>> 6] & (1L << value)) != 0) {
+                        result[value >>> 6] &= ~(1L << value);
+                        count--;
+                    }
+                }
+            } else {
+                long[] otherWords = ((BitmapChunk) other).words;
+                count = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~otherWords[i];
+                    count += Long.bitCount(result[i]);
+                }
+            }
+            return count > ARRAY_MAX ? new BitmapChunk(result, count) : toArray(result, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            long[] result = words.clone();
+            int count = cardinality;
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.values[i];
+                    if ((result[value >>> 6] & (1L << value)) == 0) {
+                        result[value >>> 6] |= 1L << value;
+                        count++;
+                    }
+                }
+            } else {
+                long[] otherWords = ((BitmapChunk) other).words;
+                count = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= otherWords[i];
+                    count += Long.bitCount(result[i]);
+                }
+            }
+            return new BitmapChunk(result, count);
+        }
+
+        @Override
+        Chunk addAll(Chunk other) {
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapChunk) other).words;
+                cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] |= otherWords[i];
+                    cardinality += Long.bitCount(words[i]);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int andCardinality(Chunk other) {
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (contains(array.values[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                count += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return count;
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitmapChunk(words.clone(), cardinality);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private static ArrayChunk toArray(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, count);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormSchema;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-durable store: schemas live only in the repository's memory and are lost on restart.
+ */
+public class InMemorySchemaStore implements SchemaStore {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    @Override
+    public Collection<FormSchema> load() {
+        return List.of();
+    }
+
+    @Override
+    public CompletableFuture<Void> save(FormSchema schema) {
+        return DONE;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String schemaId) {
+        return DONE;
+    }
+}
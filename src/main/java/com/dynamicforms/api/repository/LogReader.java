@@ -0,0 +1,83 @@
+package com.dynamicforms.api.repository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the framed records of a WAL segment or snapshot through memory-mapped windows.
+ * Each record is {@code [int payloadLength][int crc32c][byte type][payload]}; the checksum covers
+ * the type and the payload.
+ */
+final class LogReader {
+
+    static final int HEADER_BYTES = 9;
+    static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    interface RecordHandler {
+        void onRecord(byte type, byte[] payload) throws IOException;
+    }
+
+    private LogReader() {
+    }
+
+    /**
+     * Passes every intact record to the handler and returns the offset just past the last one.
+     * Reading stops at the first truncated or corrupt record, e.g. the torn tail of a crashed write.
+     */
+    static long read(Path file, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                long windowSize = Math.min(size - position, WINDOW_BYTES);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int consumed = 0;
+
+                while (window.remaining() >= HEADER_BYTES) {
+                    int start = window.position();
+                    int length = window.getInt();
+                    int checksum = window.getInt();
+                    byte type = window.get();
+
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        return position + start;
+                    }
+                    if (window.remaining() < length) {
+                        // Continue from this record in the next window, or stop at the end of the file
+                        window.position(start);
+                        break;
+                    }
+
+                    byte[] payload = new byte[length];
+                    window.get(payload);
+                    if (checksum(type, payload) != checksum) {
+                        return position + start;
+                    }
+
+                    handler.onRecord(type, payload);
+                    consumed = window.position();
+                }
+
+                if (consumed == 0) {
+                    return position;
+                }
+                position += consumed;
+            }
+            return position;
+        }
+    }
+
+    static int checksum(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,13 @@
+package com.dynamicforms.api.repository;
+
+/**
+ * Published by {@link SchemaRepository} after a schema has been saved or deleted, so that
+ * anything derived from a stored schema can be dropped or rebuilt.
+ */
+public record SchemaChangedEvent(String schemaId, Type type) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+}
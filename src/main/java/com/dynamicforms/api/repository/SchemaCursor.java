@@ -0,0 +1,60 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.SchemaSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a sorted schema listing: the sort value and id of the last schema on a page.
+ * Encoded as an opaque URL-safe string of the form {@code field|direction|value|schemaId}.
+ */
+record SchemaCursor(SchemaSortField sortBy, boolean descending, Comparable<?> value, String schemaId) {
+
+    private static final char SEPARATOR = '|';
+    private static final String NULL_VALUE = "~";
+
+    String encode() {
+        String encodedValue = value == null ? NULL_VALUE : "=" + value;
+        String raw = sortBy.getParameterName() + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR
+                + encodedValue + SEPARATOR + schemaId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SchemaCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        // Only the value may contain the separator, so split on the first two and the last one
+        int first = raw.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+        int last = raw.lastIndexOf(SEPARATOR);
+        if (second < 0 || last <= second) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        SchemaSortField sortBy = SchemaSortField.fromParameter(raw.substring(0, first));
+        boolean descending = "desc".equals(raw.substring(first + 1, second));
+        String encodedValue = raw.substring(second + 1, last);
+        String schemaId = raw.substring(last + 1);
+
+        Comparable<?> value = null;
+        if (!NULL_VALUE.equals(encodedValue)) {
+            String text = encodedValue.substring(1);
+            try {
+                value = switch (sortBy) {
+                    case UPDATED_AT, CREATED_AT -> LocalDateTime.parse(text);
+                    case SCHEMA_NAME, SCHEMA_ID -> text;
+                };
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+        }
+        return new SchemaCursor(sortBy, descending, value, schemaId);
+    }
+}
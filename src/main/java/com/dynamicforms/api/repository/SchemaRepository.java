@@ -1,50 +1,392 @@
 package com.dynamicforms.api.repository;
 
 import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.model.SchemaFacets;
+import com.dynamicforms.api.model.SchemaPage;
+import com.dynamicforms.api.model.SchemaQuery;
+import com.dynamicforms.api.model.SchemaSearchHit;
+import com.dynamicforms.api.model.SchemaSortField;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 @Repository
 public class SchemaRepository {
 
     private final Map<String, FormSchema> schemas = new ConcurrentHashMap<>();
+    // schemaId -> earlier revisions, oldest first; each list is replaced, never modified
+    private final Map<String, List<FormSchema>> history = new ConcurrentHashMap<>();
 
+    // Secondary indexes, guarded by indexLock so that readers never see a half-applied write
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    // Each indexed schema holds a dense id, reused once the schema is deleted, that positions it in the bitmaps
+    private final Map<String, Integer> denseIds = new HashMap<>();
+    private String[] schemaIdsByDenseId = new String[1024];
+    private final Deque<Integer> freeDenseIds = new ArrayDeque<>();
+    private int nextDenseId;
+    private final IdBitmap allIds = new IdBitmap();
+    private final Map<String, IdBitmap> idsByStatus = new HashMap<>();
+    private final Map<String, IdBitmap> idsByTag = new HashMap<>();
+    private final Map<String, Set<String>> idsByName = new HashMap<>();
+    private final SchemaTextIndex textIndex = new SchemaTextIndex();
+    // (schemaName, schemaVersion) -> schemaId; the most recently saved schema wins
+    private final Map<String, String> idsByNameAndVersion = new HashMap<>();
+    // One ordered index per sort field, with ties broken by schema id
+    private final Map<SchemaSortField, NavigableSet<SortEntry>> sortIndexes = new EnumMap<>(SchemaSortField.class);
+    // schemaId -> the keys it is currently indexed under
+    private final Map<String, IndexKeys> indexKeysById = new HashMap<>();
+
+    // Writes handed to the store but not yet durable, newest per schema id; guarded by indexLock.
+    // A write is published only once durable, in the order it was handed to the store
+    private final Map<String, PendingWrite> pendingWrites = new HashMap<>();
+    private final Condition published = indexLock.writeLock().newCondition();
+    private long nextWriteSequence;
+    private long publishedSequence;
+
+    // Below this many candidates per requested row, filtered pages are sorted directly
+    private static final int SORT_CANDIDATES_FACTOR = 8;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchemaStore schemaStore;
+    private final int historySize;
+
+    public SchemaRepository(ApplicationEventPublisher eventPublisher, SchemaStore schemaStore,
+                            @Value("${dynamicforms.schemas.history-size:10}") int historySize) {
+        this.eventPublisher = eventPublisher;
+        this.schemaStore = schemaStore;
+        this.historySize = historySize;
+        for (SchemaSortField field : SchemaSortField.values()) {
+            sortIndexes.put(field, new TreeSet<>(SortEntry.ORDER));
+        }
+
+        for (FormSchema schema : schemaStore.load()) {
+            // Schemas stored before revisions were introduced start at revision 1
+            FormSchema loaded = schema.getRevision() > 0 ? schema : schema.toBuilder().revision(1).build();
+            schemas.put(loaded.getSchemaId(), loaded);
+            index(loaded);
+        }
+    }
+
+    /**
+     * Stores the schema as the next revision of its id and returns the stored snapshot.
+     */
     public FormSchema save(FormSchema schema) {
-        schemas.put(schema.getSchemaId(), schema);
-        return schema;
+        return write(schema, -1);
+    }
+
+    /**
+     * Stores the schema as the next revision only while {@code expectedRevision} is still the current one.
+     * Returns the stored snapshot, or empty when the schema has changed or been deleted in the meantime.
+     */
+    public Optional<FormSchema> saveIfRevision(FormSchema schema, long expectedRevision) {
+        return Optional.ofNullable(write(schema, expectedRevision));
+    }
+
+    private FormSchema write(FormSchema schema, long expectedRevision) {
+        FormSchema saved;
+        long sequence;
+        CompletableFuture<Void> durable;
+        indexLock.writeLock().lock();
+        try {
+            if (expectedRevision >= 0) {
+                awaitPendingWrite(schema.getSchemaId());
+            }
+            FormSchema current = latest(schema.getSchemaId());
+            if (expectedRevision >= 0 && (current == null || current.getRevision() != expectedRevision)) {
+                return null;
+            }
+
+            // The caller keeps its config and tags, which may be shared with other schemas and the form catalog
+            saved = schema.toBuilder()
+                    .revision(current != null ? current.getRevision() + 1 : 1)
+                    .formConfig(schema.getFormConfig() != null ? schema.getFormConfig().copy() : null)
+                    .tags(schema.getTags() != null ? new ArrayList<>(schema.getTags()) : null)
+                    .build();
+            // Appending under the lock keeps the store's write order identical to the in-memory order
+            durable = schemaStore.save(saved);
+            sequence = addPendingWrite(saved.getSchemaId(), saved);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        // Waiting outside the lock lets concurrent saves share one commit
+        RuntimeException failure = durabilityFailure(durable);
+        publish(sequence, saved.getSchemaId(), saved, failure == null);
+        if (failure != null) {
+            throw failure;
+        }
+        compactIfNeeded();
+        eventPublisher.publishEvent(new SchemaChangedEvent(saved.getSchemaId(), SchemaChangedEvent.Type.SAVED));
+        return saved;
+    }
+
+    /**
+     * The given revision of a schema, if it is the current one or still retained in its history.
+     */
+    public Optional<FormSchema> findRevision(String schemaId, long revision) {
+        FormSchema current = schemas.get(schemaId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (current.getRevision() == revision) {
+            return Optional.of(current);
+        }
+        return history.getOrDefault(schemaId, List.of()).stream()
+                .filter(schema -> schema.getRevision() == revision)
+                .findFirst();
+    }
+
+    /**
+     * The current revision of a schema followed by its retained earlier revisions, newest first.
+     */
+    public List<FormSchema> findHistory(String schemaId) {
+        FormSchema current = schemas.get(schemaId);
+        if (current == null) {
+            return List.of();
+        }
+
+        List<FormSchema> earlier = history.getOrDefault(schemaId, List.of());
+        List<FormSchema> revisions = new ArrayList<>(earlier.size() + 1);
+        revisions.add(current);
+        for (int i = earlier.size() - 1; i >= 0; i--) {
+            revisions.add(earlier.get(i));
+        }
+        return revisions;
     }
 
     public Optional<FormSchema> findById(String schemaId) {
         return Optional.ofNullable(schemas.get(schemaId));
     }
 
+    public Optional<FormSchema> findBySchemaNameAndVersion(String schemaName, String schemaVersion) {
+        if (schemaName == null || schemaVersion == null) {
+            return Optional.empty();
+        }
+        String schemaId;
+        indexLock.readLock().lock();
+        try {
+            schemaId = idsByNameAndVersion.get(nameAndVersionKey(schemaName, schemaVersion));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        return schemaId != null ? findById(schemaId) : Optional.empty();
+    }
+
     public List<FormSchema> findAll() {
         return new ArrayList<>(schemas.values());
     }
 
     public List<FormSchema> findByStatus(String status) {
-        return schemas.values().stream()
-                .filter(schema -> status.equals(schema.getStatus()))
-                .collect(Collectors.toList());
+        return findByFilters(status, null, null);
     }
 
     public List<FormSchema> findByTag(String tag) {
-        return schemas.values().stream()
-                .filter(schema -> schema.getTags() != null && schema.getTags().contains(tag))
-                .collect(Collectors.toList());
+        return findByFilters(null, tag, null);
     }
 
     public List<FormSchema> findBySchemaName(String schemaName) {
-        return schemas.values().stream()
-                .filter(schema -> schemaName.equals(schema.getSchemaName()))
-                .collect(Collectors.toList());
+        return findByFilters(null, null, schemaName);
+    }
+
+    public List<FormSchema> findByFilters(String status, String tag, String schemaName) {
+        return findByFilters(SchemaQuery.builder()
+                .status(status)
+                .tags(tag != null ? List.of(tag) : null)
+                .schemaName(schemaName)
+                .build());
+    }
+
+    /**
+     * Returns the schemas matching the query's filters, unordered: its status, all of its tags and its name,
+     * and none of its excluded statuses and tags. Status and tag filters are combined as bitmaps of dense ids.
+     * With no filters, returns all schemas.
+     */
+    public List<FormSchema> findByFilters(SchemaQuery query) {
+        indexLock.readLock().lock();
+        try {
+            Candidates candidates = candidates(query);
+            if (candidates.isUnfiltered()) {
+                return findAll();
+            }
+
+            List<FormSchema> result = new ArrayList<>(candidates.size());
+            candidates.forEach(schemaId -> result.add(schemas.get(schemaId)));
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the schemas matching the query's filters by tag and by status, as a catalog browser shows
+     * next to each tag. Each count intersects one bitmap with the matching schemas without building the result.
+     *
+     * @param maxTags the number of most frequent tags to count, or {@code null} for all
+     */
+    public SchemaFacets countFacets(SchemaQuery query, Integer maxTags) {
+        indexLock.readLock().lock();
+        try {
+            IdBitmap matching = candidates(query).toBitmap();
+            return SchemaFacets.builder()
+                    .total(matching.cardinality())
+                    .tags(counts(idsByTag, matching, maxTags))
+                    .statuses(counts(idsByStatus, matching, null))
+                    .build();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of the schemas matching the query, in the requested order. Paging is
+     * keyset-based: the cursor holds the sort value and id of the last schema returned, so pages
+     * stay stable while schemas are added or removed, and the cost depends on the page size.
+     */
+    public SchemaPage<FormSchema> findPage(SchemaQuery query) {
+        SchemaSortField sortBy = query.getSortBy() != null ? query.getSortBy() : SchemaSortField.UPDATED_AT;
+        boolean descending = query.isDescending();
+        int limit = query.getLimit() != null ? query.getLimit() : Integer.MAX_VALUE;
+
+        SortEntry after = null;
+        if (query.getCursor() != null) {
+            SchemaCursor cursor = SchemaCursor.decode(query.getCursor());
+            if (cursor.sortBy() != sortBy || cursor.descending() != descending) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            after = new SortEntry(cursor.value(), cursor.schemaId());
+        }
+
+        indexLock.readLock().lock();
+        try {
+            Candidates candidates = candidates(query);
+            List<SortEntry> entries = candidates.isUnfiltered() || candidates.size() > (long) limit * SORT_CANDIDATES_FACTOR
+                    ? scanSortIndex(sortBy, descending, after, candidates, limit)
+                    : sortCandidates(sortBy, descending, after, candidates, limit);
+
+            boolean hasMore = entries.size() > limit;
+            List<FormSchema> items = new ArrayList<>(Math.min(entries.size(), limit));
+            for (int i = 0; i < entries.size() && i < limit; i++) {
+                items.add(schemas.get(entries.get(i).schemaId()));
+            }
+
+            String nextCursor = null;
+            if (hasMore) {
+                SortEntry last = entries.get(limit - 1);
+                nextCursor = new SchemaCursor(sortBy, descending, last.value(), last.schemaId()).encode();
+            }
+            return SchemaPage.<FormSchema>builder()
+                    .items(items)
+                    .nextCursor(nextCursor)
+                    .build();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the schemas matching the query's filters by how well their names, descriptions, tags and fields
+     * match {@code text}; every word of the text must occur, whole or as the start of a longer word. Pages
+     * follow the query's limit and cursor, which holds the score and id of the last hit returned.
+     */
+    public SchemaPage<SchemaSearchHit<FormSchema>> search(String text, SchemaQuery query) {
+        List<String> terms = SchemaTextIndex.queryTerms(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit");
+        }
+        if (terms.size() > SchemaTextIndex.MAX_QUERY_TERMS) {
+            throw new IllegalArgumentException("Search text may contain at most "
+                    + SchemaTextIndex.MAX_QUERY_TERMS + " words");
+        }
+        String joinedTerms = String.join(" ", terms);
+        int limit = query.getLimit() != null ? query.getLimit() : Integer.MAX_VALUE;
+
+        SearchCursor cursor = query.getCursor() != null ? SearchCursor.decode(query.getCursor()) : null;
+        if (cursor != null && !cursor.terms().equals(joinedTerms)) {
+            throw new IllegalArgumentException("Cursor does not match the search text");
+        }
+
+        indexLock.readLock().lock();
+        try {
+            SchemaTextIndex.Match after = null;
+            if (cursor != null) {
+                Integer denseId = denseIds.get(cursor.schemaId());
+                after = new SchemaTextIndex.Match(denseId != null ? denseId : -1, cursor.schemaId(), cursor.score());
+            }
+            Candidates candidates = candidates(query);
+            List<SchemaTextIndex.Match> matches = textIndex.search(terms,
+                    candidates.isUnfiltered() ? null : candidates.toBitmap(), after,
+                    limit == Integer.MAX_VALUE ? limit : limit + 1, denseId -> schemaIdsByDenseId[denseId]);
+
+            boolean hasMore = matches.size() > limit;
+            List<SchemaSearchHit<FormSchema>> hits = new ArrayList<>(Math.min(matches.size(), limit));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                SchemaTextIndex.Match match = matches.get(i);
+                hits.add(SchemaSearchHit.<FormSchema>builder()
+                        .schema(schemas.get(match.schemaId()))
+                        .score(match.score())
+                        .build());
+            }
+
+            String nextCursor = null;
+            if (hasMore) {
+                SchemaTextIndex.Match last = matches.get(limit - 1);
+                nextCursor = new SearchCursor(last.score(), joinedTerms, last.schemaId()).encode();
+            }
+            return SchemaPage.<SchemaSearchHit<FormSchema>>builder()
+                    .items(hits)
+                    .nextCursor(nextCursor)
+                    .build();
+        } finally {
+            indexLock.readLock().unlock();
+        }
     }
 
     public void deleteById(String schemaId) {
-        schemas.remove(schemaId);
+        delete(schemaId, -1);
+    }
+
+    /**
+     * Deletes the schema only while {@code expectedRevision} is still its current revision.
+     */
+    public boolean deleteIfRevision(String schemaId, long expectedRevision) {
+        return delete(schemaId, expectedRevision);
+    }
+
+    private boolean delete(String schemaId, long expectedRevision) {
+        long sequence;
+        CompletableFuture<Void> durable;
+        indexLock.writeLock().lock();
+        try {
+            if (expectedRevision >= 0) {
+                awaitPendingWrite(schemaId);
+            }
+            FormSchema current = latest(schemaId);
+            if (current == null || expectedRevision >= 0 && current.getRevision() != expectedRevision) {
+                return false;
+            }
+            durable = schemaStore.delete(schemaId);
+            sequence = addPendingWrite(schemaId, null);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        RuntimeException failure = durabilityFailure(durable);
+        publish(sequence, schemaId, null, failure == null);
+        if (failure != null) {
+            throw failure;
+        }
+        compactIfNeeded();
+        eventPublisher.publishEvent(new SchemaChangedEvent(schemaId, SchemaChangedEvent.Type.DELETED));
+        return true;
     }
 
     public boolean existsById(String schemaId) {
@@ -54,4 +396,406 @@ public class SchemaRepository {
     public long count() {
         return schemas.size();
     }
+
+    private void retain(FormSchema previous) {
+        if (historySize <= 0) {
+            return;
+        }
+        List<FormSchema> earlier = history.getOrDefault(previous.getSchemaId(), List.of());
+        int from = Math.max(0, earlier.size() + 1 - historySize);
+        List<FormSchema> retained = new ArrayList<>(earlier.subList(from, earlier.size()));
+        retained.add(previous);
+        history.put(previous.getSchemaId(), List.copyOf(retained));
+    }
+
+    // The newest revision handed to the store, durable or not; null when absent or being deleted
+    private FormSchema latest(String schemaId) {
+        PendingWrite pending = pendingWrites.get(schemaId);
+        return pending != null ? pending.schema() : schemas.get(schemaId);
+    }
+
+    // Conditional writes compare against what callers can read, so they wait for in-flight writes to settle
+    private void awaitPendingWrite(String schemaId) {
+        while (pendingWrites.containsKey(schemaId)) {
+            published.awaitUninterruptibly();
+        }
+    }
+
+    private long addPendingWrite(String schemaId, FormSchema schema) {
+        long sequence = nextWriteSequence++;
+        pendingWrites.put(schemaId, new PendingWrite(sequence, schema));
+        return sequence;
+    }
+
+    /**
+     * Makes a write visible once the store reports it durable, taking writes in the order they were handed to
+     * the store. A write that failed is dropped, leaving the last durable revision in place. A null
+     * {@code schema} is a delete.
+     */
+    private void publish(long sequence, String schemaId, FormSchema schema, boolean durable) {
+        indexLock.writeLock().lock();
+        try {
+            while (publishedSequence != sequence) {
+                published.awaitUninterruptibly();
+            }
+            PendingWrite pending = pendingWrites.get(schemaId);
+            if (pending != null && pending.sequence() == sequence) {
+                pendingWrites.remove(schemaId);
+            }
+            if (!durable) {
+                return;
+            }
+
+            FormSchema previous = schemas.get(schemaId);
+            if (schema == null) {
+                schemas.remove(schemaId);
+                history.remove(schemaId);
+            } else {
+                if (previous != null) {
+                    // Retained before the new revision is published, so readers never miss the previous one
+                    retain(previous);
+                }
+                schemas.put(schemaId, schema);
+            }
+            unindex(schemaId);
+            if (schema != null) {
+                index(schema);
+            }
+        } finally {
+            publishedSequence++;
+            published.signalAll();
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (!schemaStore.needsCompaction()) {
+            return;
+        }
+        indexLock.writeLock().lock();
+        try {
+            if (schemaStore.needsCompaction()) {
+                // The snapshot follows every write already handed to the store, including those not yet durable
+                Map<String, FormSchema> state = new HashMap<>(schemas);
+                pendingWrites.forEach((schemaId, pending) -> {
+                    if (pending.schema() != null) {
+                        state.put(schemaId, pending.schema());
+                    } else {
+                        state.remove(schemaId);
+                    }
+                });
+                schemaStore.compact(new ArrayList<>(state.values()));
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // Why the write could not be made durable, or null once it is
+    private static RuntimeException durabilityFailure(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+            return null;
+        } catch (CancellationException e) {
+            return e;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                return cause;
+            }
+            return new IllegalStateException("Failed to persist schema change", e.getCause());
+        }
+    }
+
+    private Candidates candidates(SchemaQuery query) {
+        List<IdBitmap> included = new ArrayList<>();
+        if (query.getStatus() != null) {
+            included.add(idsByStatus.getOrDefault(query.getStatus(), IdBitmap.EMPTY));
+        }
+        if (query.getTags() != null) {
+            for (String tag : query.getTags()) {
+                included.add(idsByTag.getOrDefault(tag, IdBitmap.EMPTY));
+            }
+        }
+        List<IdBitmap> excluded = new ArrayList<>();
+        if (query.getExcludedStatuses() != null) {
+            for (String status : query.getExcludedStatuses()) {
+                excluded.add(idsByStatus.getOrDefault(status, IdBitmap.EMPTY));
+            }
+        }
+        if (query.getExcludedTags() != null) {
+            for (String tag : query.getExcludedTags()) {
+                excluded.add(idsByTag.getOrDefault(tag, IdBitmap.EMPTY));
+            }
+        }
+
+        // Intersecting from the smallest bitmap keeps every intermediate result small
+        included.sort(Comparator.comparingInt(IdBitmap::cardinality));
+        IdBitmap ids = included.isEmpty() ? null : included.get(0);
+        for (int i = 1; i < included.size() && !ids.isEmpty(); i++) {
+            ids = ids.and(included.get(i));
+        }
+        for (IdBitmap exclusion : excluded) {
+            if (!exclusion.isEmpty()) {
+                ids = (ids != null ? ids : allIds).andNot(exclusion);
+            }
+        }
+        Set<String> names = query.getSchemaName() != null
+                ? idsByName.getOrDefault(query.getSchemaName(), Set.of()) : null;
+        return new Candidates(ids, names);
+    }
+
+    private static Map<String, Integer> counts(Map<String, IdBitmap> index, IdBitmap matching, Integer limit) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        if (!matching.isEmpty()) {
+            for (Map.Entry<String, IdBitmap> entry : index.entrySet()) {
+                int count = entry.getValue().andCardinality(matching);
+                if (count > 0) {
+                    counts.add(Map.entry(entry.getKey(), count));
+                }
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < counts.size() && (limit == null || i < limit); i++) {
+            result.put(counts.get(i).getKey(), counts.get(i).getValue());
+        }
+        return result;
+    }
+
+    // Walks the ordered index from the cursor, keeping entries that pass every filter
+    private List<SortEntry> scanSortIndex(SchemaSortField sortBy, boolean descending, SortEntry after,
+                                          Candidates candidates, int limit) {
+        NavigableSet<SortEntry> index = sortIndexes.get(sortBy);
+        if (descending) {
+            index = index.descendingSet();
+        }
+        if (after != null) {
+            index = index.tailSet(after, false);
+        }
+
+        List<SortEntry> entries = new ArrayList<>(Math.min(limit, 1024) + 1);
+        for (SortEntry entry : index) {
+            if (candidates.isUnfiltered() || candidates.contains(entry.schemaId())) {
+                entries.add(entry);
+                if (entries.size() > limit) {
+                    break;
+                }
+            }
+        }
+        return entries;
+    }
+
+    // Sorts the (small) filtered candidate set directly instead of walking the whole ordered index
+    private List<SortEntry> sortCandidates(SchemaSortField sortBy, boolean descending, SortEntry after,
+                                           Candidates candidates, int limit) {
+        Comparator<SortEntry> order = descending ? SortEntry.ORDER.reversed() : SortEntry.ORDER;
+        List<SortEntry> entries = new ArrayList<>();
+        candidates.forEach(schemaId -> {
+            SortEntry entry = indexKeysById.get(schemaId).sortEntry(sortBy);
+            if (after == null || order.compare(entry, after) > 0) {
+                entries.add(entry);
+            }
+        });
+        entries.sort(order);
+        return entries.size() > limit + 1 ? entries.subList(0, limit + 1) : entries;
+    }
+
+    private void index(FormSchema schema) {
+        String schemaId = schema.getSchemaId();
+        List<String> tags = schema.getTags() != null ? List.copyOf(new LinkedHashSet<>(schema.getTags())) : List.of();
+        String nameAndVersion = schema.getSchemaName() != null && schema.getSchemaVersion() != null
+                ? nameAndVersionKey(schema.getSchemaName(), schema.getSchemaVersion())
+                : null;
+        int denseId = allocateDenseId(schemaId);
+        IndexKeys keys = new IndexKeys(schemaId, denseId, schema.getStatus(), tags, schema.getSchemaName(),
+                nameAndVersion, schema.getCreatedAt(), schema.getUpdatedAt());
+
+        allIds.add(denseId);
+        addToIndex(idsByStatus, keys.status(), denseId);
+        for (String tag : keys.tags()) {
+            addToIndex(idsByTag, tag, denseId);
+        }
+        addToIndex(idsByName, keys.schemaName(), schemaId);
+        textIndex.add(denseId, schema);
+        if (nameAndVersion != null) {
+            idsByNameAndVersion.put(nameAndVersion, schemaId);
+        }
+        for (SchemaSortField field : SchemaSortField.values()) {
+            sortIndexes.get(field).add(keys.sortEntry(field));
+        }
+        indexKeysById.put(schemaId, keys);
+    }
+
+    private void unindex(String schemaId) {
+        IndexKeys keys = indexKeysById.remove(schemaId);
+        if (keys == null) {
+            return;
+        }
+        allIds.remove(keys.denseId());
+        removeFromIndex(idsByStatus, keys.status(), keys.denseId());
+        for (String tag : keys.tags()) {
+            removeFromIndex(idsByTag, tag, keys.denseId());
+        }
+        removeFromIndex(idsByName, keys.schemaName(), schemaId);
+        textIndex.remove(keys.denseId());
+        if (keys.nameAndVersion() != null) {
+            idsByNameAndVersion.remove(keys.nameAndVersion(), schemaId);
+        }
+        for (SchemaSortField field : SchemaSortField.values()) {
+            sortIndexes.get(field).remove(keys.sortEntry(field));
+        }
+        releaseDenseId(schemaId, keys.denseId());
+    }
+
+    // Released ids are reused first, so an updated schema keeps its id and the bitmaps stay dense
+    private int allocateDenseId(String schemaId) {
+        Integer free = freeDenseIds.pollFirst();
+        int denseId = free != null ? free : nextDenseId++;
+        if (denseId == schemaIdsByDenseId.length) {
+            schemaIdsByDenseId = Arrays.copyOf(schemaIdsByDenseId, denseId * 2);
+        }
+        schemaIdsByDenseId[denseId] = schemaId;
+        denseIds.put(schemaId, denseId);
+        return denseId;
+    }
+
+    private void releaseDenseId(String schemaId, int denseId) {
+        denseIds.remove(schemaId);
+        schemaIdsByDenseId[denseId] = null;
+        freeDenseIds.addFirst(denseId);
+    }
+
+    private static void addToIndex(Map<String, IdBitmap> index, String key, int denseId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new IdBitmap()).add(denseId);
+        }
+    }
+
+    private static void removeFromIndex(Map<String, IdBitmap> index, String key, int denseId) {
+        if (key == null) {
+            return;
+        }
+        IdBitmap ids = index.get(key);
+        if (ids != null && ids.remove(denseId) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void addToIndex(Map<String, Set<String>> index, String key, String schemaId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(schemaId);
+        }
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String schemaId) {
+        if (key == null) {
+            return;
+        }
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(schemaId) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String nameAndVersionKey(String schemaName, String schemaVersion) {
+        return schemaName + '\u0000' + schemaVersion;
+    }
+
+    /**
+     * The schemas matching a query's filters: the dense ids passing its status and tag filters, or every schema
+     * when it has none, that also have the schema name it asks for.
+     */
+    private final class Candidates {
+
+        // Null when neither status nor tags are filtered
+        private final IdBitmap ids;
+        // Null when the name is not filtered
+        private final Set<String> names;
+
+        Candidates(IdBitmap ids, Set<String> names) {
+            this.ids = ids;
+            this.names = names;
+        }
+
+        boolean isUnfiltered() {
+            return ids == null && names == null;
+        }
+
+        // An upper bound when both ids and names are filtered
+        int size() {
+            if (ids == null || names == null) {
+                return ids != null ? ids.cardinality() : names != null ? names.size() : schemas.size();
+            }
+            return Math.min(ids.cardinality(), names.size());
+        }
+
+        boolean contains(String schemaId) {
+            if (names != null && !names.contains(schemaId)) {
+                return false;
+            }
+            Integer denseId = ids != null ? denseIds.get(schemaId) : null;
+            return ids == null || denseId != null && ids.contains(denseId);
+        }
+
+        void forEach(Consumer<String> action) {
+            if (ids == null || names != null && names.size() < ids.cardinality()) {
+                for (String schemaId : names) {
+                    if (contains(schemaId)) {
+                        action.accept(schemaId);
+                    }
+                }
+            } else {
+                ids.forEach(denseId -> {
+                    String schemaId = schemaIdsByDenseId[denseId];
+                    if (names == null || names.contains(schemaId)) {
+                        action.accept(schemaId);
+                    }
+                });
+            }
+        }
+
+        IdBitmap toBitmap() {
+            if (names == null) {
+                return (ids != null ? ids : allIds).readOnly();
+            }
+            IdBitmap bitmap = new IdBitmap();
+            forEach(schemaId -> bitmap.add(denseIds.get(schemaId)));
+            return bitmap;
+        }
+    }
+
+    // A write handed to the store, by its position in the store's write order; a null schema is a delete
+    private record PendingWrite(long sequence, FormSchema schema) {
+    }
+
+    private record IndexKeys(String schemaId, int denseId, String status, List<String> tags, String schemaName,
+                             String nameAndVersion, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        SortEntry sortEntry(SchemaSortField field) {
+            return switch (field) {
+                case UPDATED_AT -> new SortEntry(updatedAt, schemaId);
+                case CREATED_AT -> new SortEntry(createdAt, schemaId);
+                case SCHEMA_NAME -> new SortEntry(schemaName, schemaId);
+                case SCHEMA_ID -> new SortEntry(schemaId, schemaId);
+            };
+        }
+    }
+
+    private record SortEntry(Comparable<?> value, String schemaId) {
+
+        // Null values sort first; equal values are ordered by schema id
+        static final Comparator<SortEntry> ORDER = SortEntry::compare;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(SortEntry a, SortEntry b) {
+            int result;
+            if (a.value() == null || b.value() == null) {
+                result = a.value() == null ? (b.value() == null ? 0 : -1) : 1;
+            } else {
+                result = ((Comparable) a.value()).compareTo(b.value());
+            }
+            return result != 0 ? result : a.schemaId().compareTo(b.schemaId());
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormSchema;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage backend behind {@link SchemaRepository}. The repository serves every read from memory;
+ * a store only has to persist writes and hand the full set of schemas back on startup.
+ *
+ * <p>Writes are called in repository order. The returned future completes once the write is durable,
+ * which lets a store commit several concurrent writes together.
+ */
+public interface SchemaStore extends AutoCloseable {
+
+    /**
+     * Recovers the stored schemas. Called once, before any write.
+     */
+    Collection<FormSchema> load();
+
+    CompletableFuture<Void> save(FormSchema schema);
+
+    CompletableFuture<Void> delete(String schemaId);
+
+    /**
+     * Whether enough has been written since the last snapshot that the repository should call {@link #compact}.
+     */
+    default boolean needsCompaction() {
+        return false;
+    }
+
+    /**
+     * Replaces the write history with a snapshot of {@code schemas}, the repository's complete state at
+     * the time of the call. Called with the repository's write lock held; the snapshot itself may be
+     * written asynchronously.
+     */
+    default void compact(List<FormSchema> schemas) {
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,271 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.FormSchema;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Inverted index over the searchable text of schemas: name, description, tags, and the name, label and
+ * placeholder of every field. Each term maps to a bitmap of the dense ids of the schemas containing it, and each
+ * schema keeps its terms with a weight that sums the boosts of the places they occur in.
+ * <p>
+ * A query matches the schemas containing every one of its terms, either exactly or as the start of a longer
+ * term. Matches are ranked by BM25-style scores: rare terms count more, and repeats of a term add less and less.
+ * <p>
+ * Not thread-safe; {@link SchemaRepository} updates and reads it under its index lock.
+ */
+final class SchemaTextIndex {
+
+    static final int MAX_QUERY_TERMS = 16;
+
+    private static final float NAME_BOOST = 3f;
+    private static final float TAG_BOOST = 3f;
+    private static final float LABEL_BOOST = 2f;
+    private static final float FIELD_NAME_BOOST = 2f;
+    private static final float DESCRIPTION_BOOST = 1f;
+    private static final float PLACEHOLDER_BOOST = 1f;
+    // Prefix matches count for less than whole-term matches
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final double SATURATION = 1.2;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    // term -> dense ids of the schemas containing it; sorted, so that prefixes are contiguous ranges
+    private final NavigableMap<String, IdBitmap> postings = new TreeMap<>();
+    // dense id -> its terms, sorted, and their weights
+    private DocumentTerms[] documents = new DocumentTerms[1024];
+    private int documentCount;
+
+    void add(int denseId, FormSchema schema) {
+        Map<String, Float> weights = new HashMap<>();
+        addText(weights, schema.getSchemaName(), NAME_BOOST);
+        addText(weights, schema.getDescription(), DESCRIPTION_BOOST);
+        if (schema.getTags() != null) {
+            for (String tag : schema.getTags()) {
+                addText(weights, tag, TAG_BOOST);
+            }
+        }
+        if (schema.getFormConfig() != null && schema.getFormConfig().getFields() != null) {
+            for (FormField field : schema.getFormConfig().getFields()) {
+                addText(weights, field.getName(), FIELD_NAME_BOOST);
+                addText(weights, field.getLabel(), LABEL_BOOST);
+                addText(weights, field.getPlaceholder(), PLACEHOLDER_BOOST);
+            }
+        }
+
+        String[] terms = new String[weights.size()];
+        int count = 0;
+        for (String term : weights.keySet()) {
+            // The document keeps the posting's own key, so each distinct term is held once
+            String key = postings.ceilingKey(term);
+            if (!term.equals(key)) {
+                key = term;
+                postings.put(key, new IdBitmap());
+            }
+            postings.get(key).add(denseId);
+            terms[count++] = key;
+        }
+        Arrays.sort(terms);
+        float[] termWeights = new float[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            termWeights[i] = weights.get(terms[i]);
+        }
+
+        if (denseId >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(denseId + 1, documents.length * 2));
+        }
+        documents[denseId] = new DocumentTerms(terms, termWeights);
+        documentCount++;
+    }
+
+    void remove(int denseId) {
+        DocumentTerms document = denseId < documents.length ? documents[denseId] : null;
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            IdBitmap ids = postings.get(term);
+            if (ids.remove(denseId) && ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        documents[denseId] = null;
+        documentCount--;
+    }
+
+    /**
+     * The terms a query is split into, in query order and without repeats.
+     */
+    static List<String> queryTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : tokens(text)) {
+            terms.add(token);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * The schemas within {@code candidates} (all, when null) matching every query term, best first, and with
+     * ties ordered by schema id. Only matches ranked after {@code after} are returned, at most {@code max}; when
+     * {@code after} still matches, it is placed by its current score rather than the one it was returned with.
+     */
+    List<Match> search(List<String> queryTerms, IdBitmap candidates, Match cursor, int max,
+                       IntFunction<String> schemaIds) {
+        List<QueryTerm> matchers = new ArrayList<>(queryTerms.size());
+        for (String text : queryTerms) {
+            QueryTerm term = queryTerm(text);
+            if (term.ids().isEmpty()) {
+                return List.of();
+            }
+            matchers.add(term);
+        }
+
+        matchers.sort(Comparator.comparingInt(term -> term.ids().cardinality()));
+        IdBitmap matching = candidates;
+        for (QueryTerm term : matchers) {
+            matching = matching == null ? term.ids() : matching.and(term.ids());
+        }
+
+        // Scores shift as schemas come and go, so the previous page ends at the last hit's score of today
+        Match after = cursor != null && cursor.denseId() >= 0 && matching.contains(cursor.denseId())
+                ? new Match(cursor.denseId(), cursor.schemaId(), score(documents[cursor.denseId()], matchers))
+                : cursor;
+
+        // Keeps the best max matches, with the worst of them on top
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.RANKING.reversed());
+        matching.forEach(denseId -> {
+            double score = score(documents[denseId], matchers);
+            // Most documents are settled by their score alone, before their schema id is looked up
+            if (after != null && score > after.score() || best.size() == max && score < best.peek().score()) {
+                return;
+            }
+            Match match = new Match(denseId, schemaIds.apply(denseId), score);
+            if ((after == null || Match.RANKING.compare(match, after) > 0)
+                    && (best.size() < max || Match.RANKING.compare(match, best.peek()) < 0)) {
+                best.add(match);
+                if (best.size() > max) {
+                    best.poll();
+                }
+            }
+        });
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(Match.RANKING);
+        return result;
+    }
+
+    private QueryTerm queryTerm(String text) {
+        Map<String, IdBitmap> matches = postings.subMap(text, true, text + Character.MAX_VALUE, false);
+        IdBitmap ids;
+        if (matches.size() == 1) {
+            ids = matches.values().iterator().next().readOnly();
+        } else {
+            ids = new IdBitmap();
+            for (IdBitmap posting : matches.values()) {
+                ids.addAll(posting);
+            }
+        }
+
+        IdBitmap exact = postings.get(text);
+        // Longer terms are weighed as rare as the prefix itself, so that they never outrank the whole term
+        return new QueryTerm(text, ids, exact != null ? idf(exact.cardinality()) : 0,
+                idf(ids.cardinality()) * PREFIX_FACTOR);
+    }
+
+    private double idf(int frequency) {
+        return Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    // Each query term scores the better of its whole-term match and its heaviest longer term in the document
+    private static double score(DocumentTerms document, List<QueryTerm> queryTerms) {
+        String[] terms = document.terms();
+        float[] weights = document.weights();
+        double score = 0;
+        for (QueryTerm queryTerm : queryTerms) {
+            int index = Arrays.binarySearch(terms, queryTerm.text());
+            double exact = 0;
+            if (index >= 0) {
+                exact = queryTerm.idf() * saturate(weights[index]);
+                index++;
+            } else {
+                index = -index - 1;
+            }
+            float prefixWeight = 0;
+            for (; index < terms.length && terms[index].startsWith(queryTerm.text()); index++) {
+                prefixWeight = Math.max(prefixWeight, weights[index]);
+            }
+            score += Math.max(exact, queryTerm.prefixIdf() * saturate(prefixWeight));
+        }
+        return score;
+    }
+
+    private static double saturate(double weight) {
+        return weight * (SATURATION + 1) / (weight + SATURATION);
+    }
+
+    private static void addText(Map<String, Float> weights, String text, float boost) {
+        for (String token : tokens(text)) {
+            weights.merge(token, boost, Float::sum);
+        }
+    }
+
+    /**
+     * Lower-cased runs of letters and digits. A run that changes from lower to upper case, as in
+     * {@code firstName}, also yields its parts, so that field names match the words they are made of.
+     */
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(tokens, text, start, i);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(List<String> tokens, String text, int start, int end) {
+        int partStart = start;
+        for (int i = start + 1; i < end; i++) {
+            if (Character.isLowerCase(text.charAt(i - 1)) && Character.isUpperCase(text.charAt(i))) {
+                addToken(tokens, text.substring(partStart, i));
+                partStart = i;
+            }
+        }
+        if (partStart > start) {
+            addToken(tokens, text.substring(partStart, end));
+        }
+        addToken(tokens, text.substring(start, end));
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        if (token.length() <= MAX_TERM_LENGTH) {
+            tokens.add(token.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * A schema matching a query, by its dense id and schema id, with its score.
+     */
+    record Match(int denseId, String schemaId, double score) {
+
+        // Highest score first, then by schema id
+        static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+                .thenComparing(Match::schemaId);
+    }
+
+    private record QueryTerm(String text, IdBitmap ids, double idf, double prefixIdf) {
+    }
+
+    private record DocumentTerms(String[] terms, float[] weights) {
+    }
+}
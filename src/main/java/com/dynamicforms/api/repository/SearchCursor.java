@@ -0,0 +1,34 @@
+package com.dynamicforms.api.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in ranked search results: the score and id of the last schema on a page, and the search terms
+ * it belongs to. Encoded as an opaque URL-safe string of the form {@code score|terms|schemaId}.
+ */
+record SearchCursor(double score, String terms, String schemaId) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = Double.toString(score) + SEPARATOR + terms + SEPARATOR + schemaId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Terms never contain the separator, so the schema id is everything after the second one
+            int first = raw.indexOf(SEPARATOR);
+            int second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+            if (second < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SearchCursor(Double.parseDouble(raw.substring(0, first)), raw.substring(first + 1, second),
+                    raw.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.ValidationError;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.service.SubmissionBinder.BoundSubmission;
+import com.dynamicforms.api.validation.ValidationOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates many submissions in one call, as read and resolved by {@link SubmissionBinder#bindBatch}.
+ * The submissions are validated in chunks on a fixed-size pool shared by all batch requests,
+ * which bounds the CPU a single large import can take.
+ */
+@Service
+public class BatchValidationService {
+
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final FormValidationService validationService;
+    private final int parallelism;
+    private final int maxBatchSize;
+    private final ExecutorService executor;
+
+    public BatchValidationService(FormValidationService validationService,
+                                  @Value("${dynamicforms.validation.batch.parallelism:0}") int parallelism,
+                                  @Value("${dynamicforms.validation.batch.max-size:10000}") int maxBatchSize) {
+        this.validationService = validationService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxBatchSize = maxBatchSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-validation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Validates the submissions in order. A submission whose data was rejected gets its rejection as its response.
+     */
+    public List<ValidationResponse> validateBatch(List<BoundSubmission> submissions, ValidationOptions options) {
+        if (submissions.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxBatchSize + " submissions");
+        }
+
+        int size = submissions.size();
+        ValidationResponse[] responses = new ValidationResponse[size];
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + parallelism * 4 - 1) / (parallelism * 4));
+        if (size <= chunkSize) {
+            validateRange(submissions, options, responses, 0, size);
+            return Arrays.asList(responses);
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, size);
+            chunks.add(CompletableFuture.runAsync(
+                    () -> validateRange(submissions, options, responses, start, end), executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        return Arrays.asList(responses);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void validateRange(List<BoundSubmission> submissions, ValidationOptions options,
+                               ValidationResponse[] responses, int from, int to) {
+        for (int i = from; i < to; i++) {
+            BoundSubmission submission = submissions.get(i);
+            if (submission == null) {
+                responses[i] = missingSubmission();
+            } else if (submission.rejection() != null) {
+                responses[i] = submission.rejection();
+            } else {
+                responses[i] = validationService.validate(submission.resolution(), submission.submission().getData(),
+                        options);
+            }
+        }
+    }
+
+    private static ValidationResponse missingSubmission() {
+        return ValidationResponse.builder()
+                .valid(false)
+                .errors(List.of(ValidationError.builder()
+                        .field("submission")
+                        .message("Submission is missing")
+                        .validationType("system")
+                        .build()))
+                .message("Form validation failed")
+                .build();
+    }
+}
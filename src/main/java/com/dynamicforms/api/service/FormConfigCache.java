@@ -0,0 +1,142 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.repository.SchemaChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The form configs served over HTTP, serialized to JSON once per config instance together with a strong
+ * ETag and, for larger configs, a gzip variant. Built-in forms never change, and stored schemas are
+ * serialized again after they change.
+ */
+@Service
+public class FormConfigCache {
+
+    private static final int TAG_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    private final boolean gzip;
+    private final int gzipMinSize;
+
+    // Keyed by "form:", "forms" or "schema:" and checked against the instance that was serialized
+    private final Map<String, SerializedConfig> serialized = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FormConfigCache(ObjectMapper objectMapper,
+                           @Value("${dynamicforms.http.form-config.max-age-seconds:0}") long maxAgeSeconds,
+                           @Value("${dynamicforms.http.form-config.gzip:true}") boolean gzip,
+                           @Value("${dynamicforms.http.form-config.gzip-min-size:1024}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        // Without a max age, clients revalidate every time and are answered with 304 while the tag matches
+        this.cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).mustRevalidate()
+                : CacheControl.noCache();
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    public CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public SerializedConfig form(FormConfig formConfig) {
+        return serialize("form:" + formConfig.getFormId(), formConfig);
+    }
+
+    public SerializedConfig forms(Map<String, FormConfig> forms) {
+        return serialize("forms", forms);
+    }
+
+    public SerializedConfig schema(FormSchema schema) {
+        return serialize("schema:" + schema.getSchemaId(), schema.getFormConfig());
+    }
+
+    @EventListener
+    public void onSchemaChanged(SchemaChangedEvent event) {
+        serialized.remove("schema:" + event.schemaId());
+    }
+
+    private SerializedConfig serialize(String key, Object source) {
+        SerializedConfig cached = serialized.get(key);
+        if (cached != null && cached.source() == source) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(source);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize form config " + key, e);
+        }
+        String tag = hash(json);
+        byte[] compressed = gzip && json.length >= gzipMinSize ? compress(json) : null;
+
+        SerializedConfig config = new SerializedConfig(source, json, '"' + tag + '"',
+                compressed, compressed != null ? '"' + tag + "-gzip\"" : null);
+        serialized.put(key, config);
+        return config;
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, TAG_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        // Each config is compressed once, so the slowest level is worth it
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A config's UTF-8 JSON and its ETag, plus the gzip-encoded JSON and its ETag when compression applies.
+     * The arrays are shared between requests and must not be modified.
+     */
+    public record SerializedConfig(Object source, byte[] json, String eTag, byte[] gzip, String gzipETag) {
+    }
+}
@@ -9,13 +9,20 @@ import com.dynamicforms.api.model.ValidationRule;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 @Service
 public class FormConfigService {
 
-    public FormConfig getRegistrationFormConfig() {
+    // The built-in forms never change, so they are built once and shared by every caller
+    private volatile Map<String, FormConfig> catalog;
+
+    private FormConfig buildRegistrationFormConfig() {
         return FormConfig.builder()
                 .formId("user-registration")
                 .formTitle("User Registration")
@@ -36,7 +43,7 @@ public class FormConfigService {
                 .build();
     }
 
-    public FormConfig getContactFormConfig() {
+    private FormConfig buildContactFormConfig() {
         return FormConfig.builder()
                 .formId("contact-form")
                 .formTitle("Contact Us")
@@ -350,7 +357,7 @@ public class FormConfigService {
                 .build();
     }
 
-    public FormConfig getConditionalFormConfig() {
+    private FormConfig buildConditionalFormConfig() {
         return FormConfig.builder()
                 .formId("conditional-form")
                 .formTitle("Conditional Fields Example")
@@ -556,7 +563,7 @@ public class FormConfigService {
                 .build();
     }
 
-    public FormConfig getCrossFieldValidationFormConfig() {
+    private FormConfig buildCrossFieldValidationFormConfig() {
         return FormConfig.builder()
                 .formId("cross-field-validation-form")
                 .formTitle("Cross-Field Validation Example")
@@ -757,12 +764,73 @@ public class FormConfigService {
                 .build();
     }
 
+    public FormConfig getRegistrationFormConfig() {
+        return getAllForms().get("registration");
+    }
+
+    public FormConfig getContactFormConfig() {
+        return getAllForms().get("contact");
+    }
+
+    public FormConfig getConditionalFormConfig() {
+        return getAllForms().get("conditional");
+    }
+
+    public FormConfig getCrossFieldValidationFormConfig() {
+        return getAllForms().get("cross-validation");
+    }
+
+    public FormConfig getFormById(String formId) {
+        return formId != null ? getAllForms().get(formId) : null;
+    }
+
     public Map<String, FormConfig> getAllForms() {
-        Map<String, FormConfig> forms = new HashMap<>();
-        forms.put("registration", getRegistrationFormConfig());
-        forms.put("contact", getContactFormConfig());
-        forms.put("conditional", getConditionalFormConfig());
-        forms.put("cross-validation", getCrossFieldValidationFormConfig());
+        Map<String, FormConfig> forms = catalog;
+        if (forms == null) {
+            synchronized (this) {
+                forms = catalog;
+                if (forms == null) {
+                    forms = buildCatalog();
+                    catalog = forms;
+                }
+            }
+        }
         return forms;
     }
+
+    private Map<String, FormConfig> buildCatalog() {
+        Map<String, FormConfig> forms = new LinkedHashMap<>();
+        forms.put("registration", buildRegistrationFormConfig());
+        forms.put("contact", buildContactFormConfig());
+        forms.put("conditional", buildConditionalFormConfig());
+        forms.put("cross-validation", buildCrossFieldValidationFormConfig());
+        forms.replaceAll((name, form) -> freeze(form));
+        return Collections.unmodifiableMap(forms);
+    }
+
+    // Plans and response bytes are cached by config identity, so the shared configs' collections are unmodifiable
+    private static FormConfig freeze(FormConfig form) {
+        return form.toBuilder()
+                .fields(freeze(form.getFields(), FormConfigService::freeze))
+                .crossFieldValidations(freeze(form.getCrossFieldValidations(), validation -> validation.toBuilder()
+                        .fields(freeze(validation.getFields(), UnaryOperator.identity()))
+                        .build()))
+                .build();
+    }
+
+    private static FormField freeze(FormField field) {
+        return field.toBuilder()
+                .validations(freeze(field.getValidations(), UnaryOperator.identity()))
+                .options(freeze(field.getOptions(), UnaryOperator.identity()))
+                .attributes(field.getAttributes() != null
+                        ? Collections.unmodifiableMap(new LinkedHashMap<>(field.getAttributes())) : null)
+                .conditions(freeze(field.getConditions(), condition -> condition.toBuilder()
+                        .values(freeze(condition.getValues(), UnaryOperator.identity()))
+                        .build()))
+                .build();
+    }
+
+    private static <T> List<T> freeze(List<T> list, UnaryOperator<T> freeze) {
+        return list != null ? list.stream().map(freeze).toList() : null;
+    }
 }
@@ -1,57 +1,64 @@
 package com.dynamicforms.api.service;
 
 import com.dynamicforms.api.model.*;
+import com.dynamicforms.api.repository.SchemaChangedEvent;
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.validation.FieldSelection;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.dynamicforms.api.validation.ValidationPlan;
+import com.dynamicforms.api.validation.ValidationPlanCompiler;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class FormValidationService {
 
     private final FormConfigService formConfigService;
-
-    public FormValidationService(FormConfigService formConfigService) {
+    private final SchemaRepository schemaRepository;
+    private final ValidationPlanCompiler planCompiler;
+    private final ValidationMetrics metrics;
+    private final ValidationResultCache resultCache;
+
+    // Compiled plans for the built-in forms, keyed by form id
+    private final Map<String, PlanResolution> plans = new ConcurrentHashMap<>();
+    // Compiled plans for stored schemas, keyed by schema id and revision and dropped when the schema changes
+    private final Map<String, Map<Long, SchemaPlan>> schemaPlans = new ConcurrentHashMap<>();
+    private final LongAdder planHits = new LongAdder();
+    private final LongAdder planMisses = new LongAdder();
+
+    public FormValidationService(FormConfigService formConfigService, SchemaRepository schemaRepository,
+                                 ValidationPlanCompiler planCompiler, ValidationMetrics metrics,
+                                 ValidationResultCache resultCache) {
         this.formConfigService = formConfigService;
+        this.schemaRepository = schemaRepository;
+        this.planCompiler = planCompiler;
+        this.metrics = metrics;
+        this.resultCache = resultCache;
     }
 
     public ValidationResponse validateFormSubmission(FormSubmission submission) {
-        List<ValidationError> errors = new ArrayList<>();
-
-        // Get the form configuration
-        Map<String, FormConfig> allForms = formConfigService.getAllForms();
-        FormConfig formConfig = allForms.get(submission.getFormId());
-
-        if (formConfig == null) {
-            return ValidationResponse.builder()
-                    .valid(false)
-                    .errors(List.of(ValidationError.builder()
-                            .field("formId")
-                            .message("Form configuration not found")
-                            .validationType("system")
-                            .build()))
-                    .message("Form validation failed")
-                    .build();
-        }
+        return validateFormSubmission(submission, ValidationOptions.EXHAUSTIVE);
+    }
 
-        Map<String, Object> data = submission.getData();
+    public ValidationResponse validateFormSubmission(FormSubmission submission, ValidationOptions options) {
+        return validate(resolve(submission), submission.getData(), options);
+    }
 
-        // Validate individual field validations (basic validation)
-        for (FormField field : formConfig.getFields()) {
-            errors.addAll(validateField(field, data));
+    public ValidationResponse validate(PlanResolution resolution, Map<String, Object> data, ValidationOptions options) {
+        if (resolution.plan() == null) {
+            metrics.recordUnresolved();
+            return resolution.failure();
         }
 
-        // Validate cross-field validations
-        if (formConfig.getCrossFieldValidations() != null) {
-            for (CrossFieldValidation crossValidation : formConfig.getCrossFieldValidations()) {
-                ValidationError error = validateCrossField(crossValidation, data);
-                if (error != null) {
-                    errors.add(error);
-                }
-            }
-        }
+        long start = System.nanoTime();
+        List<ValidationError> errors = resolution.plan().validate(data, null, options, resolution.meters());
+        resolution.meters().record(false, data, errors.size(), System.nanoTime() - start);
 
         boolean isValid = errors.isEmpty();
         return ValidationResponse.builder()
@@ -61,258 +68,198 @@ public class FormValidationService {
                 .build();
     }
 
-    private List<ValidationError> validateField(FormField field, Map<String, Object> data) {
-        List<ValidationError> errors = new ArrayList<>();
-        Object value = data.get(field.getName());
-
-        if (field.getValidations() == null) {
-            return errors;
+    /**
+     * As {@link #validate(PlanResolution, Map, ValidationOptions)}, answering a repeat of a submission validated
+     * within the result cache's time to live from the cache when it is enabled. Cached responses are not
+     * recorded in the validation meters.
+     */
+    public ValidationResponse validateRepeatable(PlanResolution resolution, Map<String, Object> data,
+                                                 ValidationOptions options) {
+        if (resolution.plan() == null || !resultCache.isEnabled()) {
+            return validate(resolution, data, options);
         }
 
-        for (ValidationRule rule : field.getValidations()) {
-            ValidationError error = applyValidationRule(field.getName(), value, rule);
-            if (error != null) {
-                errors.add(error);
-            }
+        ValidationResultCache.Key key = resultCache.key(resolution.plan(), data, options);
+        ValidationResponse response = resultCache.get(key);
+        if (response == null) {
+            response = validate(resolution, data, options);
+            resultCache.put(key, response);
         }
-
-        return errors;
+        return response;
     }
 
-    private ValidationError applyValidationRule(String fieldName, Object value, ValidationRule rule) {
-        switch (rule.getName()) {
-            case "required":
-                if (Boolean.TRUE.equals(rule.getValue()) && (value == null || value.toString().trim().isEmpty())) {
-                    return createFieldError(fieldName, rule.getErrorMessage());
-                }
-                break;
-
-            case "requiredTrue":
-                if (Boolean.TRUE.equals(rule.getValue()) && !Boolean.TRUE.equals(value)) {
-                    return createFieldError(fieldName, rule.getErrorMessage());
-                }
-                break;
-
-            case "minLength":
-                if (value != null && value.toString().length() < (Integer) rule.getValue()) {
-                    return createFieldError(fieldName, rule.getErrorMessage());
-                }
-                break;
-
-            case "maxLength":
-                if (value != null && value.toString().length() > (Integer) rule.getValue()) {
-                    return createFieldError(fieldName, rule.getErrorMessage());
-                }
-                break;
-
-            case "min":
-                if (value != null) {
-                    try {
-                        double numValue = Double.parseDouble(value.toString());
-                        double minValue = ((Number) rule.getValue()).doubleValue();
-                        if (numValue < minValue) {
-                            return createFieldError(fieldName, rule.getErrorMessage());
-                        }
-                    } catch (NumberFormatException e) {
-                        return createFieldError(fieldName, "Invalid number format");
-                    }
-                }
-                break;
-
-            case "max":
-                if (value != null) {
-                    try {
-                        double numValue = Double.parseDouble(value.toString());
-                        double maxValue = ((Number) rule.getValue()).doubleValue();
-                        if (numValue > maxValue) {
-                            return createFieldError(fieldName, rule.getErrorMessage());
-                        }
-                    } catch (NumberFormatException e) {
-                        return createFieldError(fieldName, "Invalid number format");
-                    }
-                }
-                break;
-
-            case "email":
-                if (value != null && Boolean.TRUE.equals(rule.getValue())) {
-                    String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-                    if (!value.toString().matches(emailRegex)) {
-                        return createFieldError(fieldName, rule.getErrorMessage());
-                    }
-                }
-                break;
-
-            case "pattern":
-                if (value != null && !value.toString().matches(rule.getValue().toString())) {
-                    return createFieldError(fieldName, rule.getErrorMessage());
-                }
-                break;
-        }
+    /**
+     * Re-validates only what the submission's {@code changedFields} can affect, for live validation while
+     * a form is being edited. The response lists the fields whose errors were recomputed.
+     */
+    public ValidationResponse validateChangedFields(FormSubmission submission) {
+        return validateChangedFields(submission, ValidationOptions.EXHAUSTIVE);
+    }
 
-        return null;
+    public ValidationResponse validateChangedFields(FormSubmission submission, ValidationOptions options) {
+        return validateChangedFields(resolve(submission), submission, options);
     }
 
-    private ValidationError validateCrossField(CrossFieldValidation validation, Map<String, Object> data) {
-        List<String> fields = validation.getFields();
+    public ValidationResponse validateChangedFields(PlanResolution resolution, FormSubmission submission,
+                                                    ValidationOptions options) {
+        if (submission.getChangedFields() == null || submission.getChangedFields().isEmpty()) {
+            throw new IllegalArgumentException("changedFields must name at least one field");
+        }
 
-        if (fields == null || fields.size() < 2) {
-            return null;
+        if (resolution.plan() == null) {
+            metrics.recordUnresolved();
+            return resolution.failure();
         }
 
-        switch (validation.getValidationType()) {
-            case "fieldMatch":
-                return validateFieldMatch(validation, data);
+        long start = System.nanoTime();
+        FieldSelection selection = resolution.plan().select(submission.getChangedFields());
+        List<ValidationError> errors = resolution.plan().validate(submission.getData(), selection, options,
+                resolution.meters());
+        resolution.meters().record(true, submission.getData(), errors.size(), System.nanoTime() - start);
 
-            case "dateRange":
-                return validateDateRange(validation, data);
+        boolean isValid = errors.isEmpty();
+        return ValidationResponse.builder()
+                .valid(isValid)
+                .errors(errors)
+                .message(isValid ? "Changed fields are valid" : "Form validation failed")
+                .validatedFields(selection.getFieldNames())
+                .build();
+    }
 
-            case "numericComparison":
-                return validateNumericComparison(validation, data);
+    /**
+     * Resolves the form or stored schema a submission refers to. The result only depends on
+     * {@link #resolutionKey(FormSubmission)}, so callers may reuse it for submissions with the same key.
+     */
+    public PlanResolution resolve(FormSubmission submission) {
+        String sourceField = submission.getSchemaId() != null ? "schemaId"
+                : submission.getSchemaName() != null ? "schemaName" : "formId";
 
-            case "conditionalRequired":
-                return validateConditionalRequired(validation, data);
+        PlanResolution resolution;
+        try {
+            resolution = resolvePlan(submission);
+        } catch (IllegalArgumentException e) {
+            // A stored schema whose rules cannot be compiled, e.g. an invalid pattern
+            return PlanResolution.failed(systemError(sourceField, e.getMessage()));
+        }
 
-            default:
-                return null;
+        if (resolution == null) {
+            if (!"formId".equals(sourceField) && submission.getSchemaRevision() != null && schemaExists(submission)) {
+                return PlanResolution.failed(systemError("schemaRevision", "Form schema revision not found"));
+            }
+            return PlanResolution.failed(systemError(sourceField, "formId".equals(sourceField)
+                    ? "Form configuration not found" : "Form schema not found"));
         }
+        return resolution;
     }
 
-    private ValidationError validateFieldMatch(CrossFieldValidation validation, Map<String, Object> data) {
-        List<String> fields = validation.getFields();
-        Object value1 = data.get(fields.get(0));
-        Object value2 = data.get(fields.get(1));
-
-        if (value1 == null || value2 == null || !value1.toString().equals(value2.toString())) {
-            return createCrossFieldError(
-                    validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                    validation.getErrorMessage()
-            );
+    public static String resolutionKey(FormSubmission submission) {
+        if (submission.getSchemaId() != null) {
+            return "schemaId:" + submission.getSchemaId() + '\u0000' + submission.getSchemaRevision();
+        }
+        if (submission.getSchemaName() != null) {
+            return "schemaName:" + submission.getSchemaName() + '\u0000' + submission.getSchemaVersion()
+                    + '\u0000' + submission.getSchemaRevision();
         }
+        return "formId:" + submission.getFormId();
+    }
 
-        return null;
+    public long planHitCount() {
+        return planHits.sum();
     }
 
-    private ValidationError validateDateRange(CrossFieldValidation validation, Map<String, Object> data) {
-        List<String> fields = validation.getFields();
-        Object startDateObj = data.get(fields.get(0));
-        Object endDateObj = data.get(fields.get(1));
+    public long planMissCount() {
+        return planMisses.sum();
+    }
 
-        if (startDateObj == null || endDateObj == null) {
-            return null; // Skip if either date is missing (handled by required validation)
+    @EventListener
+    public void onSchemaChanged(SchemaChangedEvent event) {
+        Map<Long, SchemaPlan> removed = schemaPlans.remove(event.schemaId());
+        if (removed != null) {
+            resultCache.invalidate(removed.values().stream().map(plan -> plan.resolution().plan()).toList());
         }
+    }
 
-        try {
-            LocalDate startDate = LocalDate.parse(startDateObj.toString());
-            LocalDate endDate = LocalDate.parse(endDateObj.toString());
-
-            if ("lessThan".equals(validation.getOperator())) {
-                if (!startDate.isBefore(endDate)) {
-                    return createCrossFieldError(
-                            validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                            validation.getErrorMessage()
-                    );
-                }
-            }
-        } catch (Exception e) {
-            return createCrossFieldError(
-                    validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                    "Invalid date format"
-            );
+    private PlanResolution resolvePlan(FormSubmission submission) {
+        if (submission.getSchemaId() == null && submission.getSchemaName() == null) {
+            return resolveFormPlan(submission.getFormId());
         }
 
-        return null;
+        Optional<FormSchema> schema = submission.getSchemaId() != null
+                ? schemaRepository.findById(submission.getSchemaId())
+                : schemaRepository.findBySchemaNameAndVersion(submission.getSchemaName(), submission.getSchemaVersion());
+        // A pinned revision is validated against exactly that snapshot, even if the schema has changed since
+        Long revision = submission.getSchemaRevision();
+        if (revision != null && schema.isPresent() && schema.get().getRevision() != revision) {
+            schema = schemaRepository.findRevision(schema.get().getSchemaId(), revision);
+        }
+        return resolveSchemaPlan(schema);
     }
 
-    private ValidationError validateNumericComparison(CrossFieldValidation validation, Map<String, Object> data) {
-        List<String> fields = validation.getFields();
-        Object value1Obj = data.get(fields.get(0));
-        Object value2Obj = data.get(fields.get(1));
+    private boolean schemaExists(FormSubmission submission) {
+        return submission.getSchemaId() != null ? schemaRepository.existsById(submission.getSchemaId())
+                : schemaRepository.findBySchemaNameAndVersion(submission.getSchemaName(),
+                submission.getSchemaVersion()).isPresent();
+    }
 
-        if (value1Obj == null || value2Obj == null) {
-            return null; // Skip if either value is missing
+    private PlanResolution resolveFormPlan(String formId) {
+        if (formId == null) {
+            return null;
         }
 
-        try {
-            double value1 = Double.parseDouble(value1Obj.toString());
-            double value2 = Double.parseDouble(value2Obj.toString());
-
-            switch (validation.getOperator()) {
-                case "lessThan":
-                    if (value1 >= value2) {
-                        return createCrossFieldError(
-                                validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                                validation.getErrorMessage()
-                        );
-                    }
-                    break;
-
-                case "lessThanOrEqual":
-                    if (value1 > value2) {
-                        return createCrossFieldError(
-                                validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                                validation.getErrorMessage()
-                        );
-                    }
-                    break;
-
-                case "greaterThan":
-                    if (value1 <= value2) {
-                        return createCrossFieldError(
-                                validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                                validation.getErrorMessage()
-                        );
-                    }
-                    break;
-
-                case "greaterThanOrEqual":
-                    if (value1 < value2) {
-                        return createCrossFieldError(
-                                validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                                validation.getErrorMessage()
-                        );
-                    }
-                    break;
-            }
-        } catch (NumberFormatException e) {
-            return createCrossFieldError(
-                    validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                    "Invalid number format"
-            );
+        PlanResolution resolution = plans.get(formId);
+        if (resolution != null) {
+            planHits.increment();
+            return resolution;
         }
 
-        return null;
+        FormConfig formConfig = formConfigService.getFormById(formId);
+        if (formConfig == null) {
+            return null;
+        }
+        planMisses.increment();
+        return plans.computeIfAbsent(formId, id -> compile(formConfig));
     }
 
-    private ValidationError validateConditionalRequired(CrossFieldValidation validation, Map<String, Object> data) {
-        List<String> fields = validation.getFields();
-        Object conditionFieldValue = data.get(fields.get(0));
-        Object requiredFieldValue = data.get(fields.get(1));
-
-        // If the condition field is "custom" and the required field is empty, return error
-        if ("custom".equals(conditionFieldValue) &&
-            (requiredFieldValue == null || requiredFieldValue.toString().trim().isEmpty())) {
-            return createCrossFieldError(
-                    validation.getErrorField() != null ? validation.getErrorField() : fields.get(1),
-                    validation.getErrorMessage()
-            );
+    private PlanResolution resolveSchemaPlan(Optional<FormSchema> schema) {
+        if (schema.isEmpty() || schema.get().getFormConfig() == null) {
+            return null;
+        }
+
+        String schemaId = schema.get().getSchemaId();
+        long revision = schema.get().getRevision();
+        FormConfig formConfig = schema.get().getFormConfig();
+
+        // The identity check guards against a plan compiled from a config that has since been replaced
+        SchemaPlan cached = schemaPlans.getOrDefault(schemaId, Map.of()).get(revision);
+        if (cached != null && cached.source() == formConfig) {
+            planHits.increment();
+            return cached.resolution();
         }
 
-        return null;
+        planMisses.increment();
+        PlanResolution resolution = compile(formConfig);
+        schemaPlans.computeIfAbsent(schemaId, id -> new ConcurrentHashMap<>())
+                .put(revision, new SchemaPlan(formConfig, resolution));
+        return resolution;
     }
 
-    private ValidationError createFieldError(String field, String message) {
-        return ValidationError.builder()
-                .field(field)
-                .message(message)
-                .validationType("field")
-                .build();
+    private PlanResolution compile(FormConfig formConfig) {
+        ValidationPlan plan = planCompiler.compile(formConfig);
+        return PlanResolution.of(plan, metrics.forPlan(plan));
     }
 
-    private ValidationError createCrossFieldError(String field, String message) {
-        return ValidationError.builder()
-                .field(field)
-                .message(message)
-                .validationType("cross-field")
+    private ValidationResponse systemError(String field, String message) {
+        return ValidationResponse.builder()
+                .valid(false)
+                .errors(List.of(ValidationError.builder()
+                        .field(field)
+                        .message(message)
+                        .validationType("system")
+                        .build()))
+                .message("Form validation failed")
                 .build();
     }
+
+    private record SchemaPlan(FormConfig source, PlanResolution resolution) {
+    }
 }
@@ -0,0 +1,19 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.validation.ValidationPlan;
+
+/**
+ * Outcome of resolving a submission's form or schema: either the plan to validate with and the meters
+ * to record it in, or the response to return because no plan could be resolved.
+ */
+public record PlanResolution(ValidationPlan plan, ValidationMetrics.FormMeters meters, ValidationResponse failure) {
+
+    static PlanResolution of(ValidationPlan plan, ValidationMetrics.FormMeters meters) {
+        return new PlanResolution(plan, meters, null);
+    }
+
+    static PlanResolution failed(ValidationResponse failure) {
+        return new PlanResolution(null, null, failure);
+    }
+}
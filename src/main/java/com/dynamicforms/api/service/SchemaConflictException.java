@@ -0,0 +1,18 @@
+package com.dynamicforms.api.service;
+
+/**
+ * Thrown when a schema update or delete expected a revision that is no longer the current one.
+ */
+public class SchemaConflictException extends RuntimeException {
+
+    private final long currentRevision;
+
+    public SchemaConflictException(String schemaId, long expectedRevision, long currentRevision) {
+        super("Schema " + schemaId + " is at revision " + currentRevision + ", not " + expectedRevision);
+        this.currentRevision = currentRevision;
+    }
+
+    public long getCurrentRevision() {
+        return currentRevision;
+    }
+}
@@ -2,12 +2,18 @@ package com.dynamicforms.api.service;
 
 import com.dynamicforms.api.model.*;
 import com.dynamicforms.api.repository.SchemaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,10 +21,17 @@ public class SchemaService {
 
     private final SchemaRepository schemaRepository;
     private final FormConfigService formConfigService;
+    private final MeterRegistry meterRegistry;
+    private final Counter writeRetries;
 
-    public SchemaService(SchemaRepository schemaRepository, FormConfigService formConfigService) {
+    public SchemaService(SchemaRepository schemaRepository, FormConfigService formConfigService,
+                         MeterRegistry meterRegistry) {
         this.schemaRepository = schemaRepository;
         this.formConfigService = formConfigService;
+        this.meterRegistry = meterRegistry;
+        this.writeRetries = Counter.builder("dynamicforms.schemas.write.retries")
+                .description("Updates applied again because another write changed the schema first")
+                .register(meterRegistry);
     }
 
     public FormSchema createSchema(SchemaCreateRequest request) {
@@ -37,7 +50,10 @@ public class SchemaService {
                 .tags(request.getTags())
                 .build();
 
-        return schemaRepository.save(schema);
+        long start = System.nanoTime();
+        FormSchema saved = schemaRepository.save(schema);
+        recordWrite("create", "saved", start);
+        return saved;
     }
 
     public Optional<FormSchema> getSchemaById(String schemaId) {
@@ -66,44 +82,181 @@ public class SchemaService {
         return schemaRepository.findBySchemaName(schemaName);
     }
 
-    public Optional<FormSchema> updateSchema(String schemaId, SchemaCreateRequest request) {
-        Optional<FormSchema> existingSchema = schemaRepository.findById(schemaId);
-
-        if (existingSchema.isPresent()) {
-            FormSchema schema = existingSchema.get();
-            schema.setSchemaName(request.getSchemaName());
-            schema.setSchemaVersion(request.getSchemaVersion());
-            schema.setDescription(request.getDescription());
-            schema.setFormConfig(request.getFormConfig());
-            schema.setUpdatedAt(LocalDateTime.now());
-            schema.setTags(request.getTags());
-
-            return Optional.of(schemaRepository.save(schema));
+    public List<FormSchema> findSchemas(String status, String tag, String schemaName) {
+        return schemaRepository.findByFilters(status, tag, schemaName);
+    }
+
+    public List<FormSchema> findSchemas(SchemaQuery query) {
+        return schemaRepository.findByFilters(query);
+    }
+
+    public SchemaFacets countSchemaFacets(SchemaQuery query, Integer maxTags) {
+        return schemaRepository.countFacets(query, maxTags);
+    }
+
+    public SchemaPage<SchemaSearchHit<SchemaMetadata>> searchSchemas(String text, SchemaQuery query) {
+        SchemaPage<SchemaSearchHit<FormSchema>> page = schemaRepository.search(text, query);
+        return SchemaPage.<SchemaSearchHit<SchemaMetadata>>builder()
+                .items(page.getItems().stream()
+                        .map(hit -> SchemaSearchHit.<SchemaMetadata>builder()
+                                .schema(toMetadata(hit.getSchema()))
+                                .score(hit.getScore())
+                                .build())
+                        .collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public SchemaPage<FormSchema> findSchemaPage(SchemaQuery query) {
+        return schemaRepository.findPage(query);
+    }
+
+    public SchemaPage<SchemaMetadata> findSchemaMetadataPage(SchemaQuery query) {
+        SchemaPage<FormSchema> page = schemaRepository.findPage(query);
+        return SchemaPage.<SchemaMetadata>builder()
+                .items(page.getItems().stream().map(this::toMetadata).collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Copies only the requested top-level properties of a schema, in the order they were requested.
+     */
+    public Map<String, Object> project(FormSchema schema, List<String> fields) {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        for (String field : fields) {
+            projection.put(field, switch (field) {
+                case "schemaId" -> schema.getSchemaId();
+                case "schemaName" -> schema.getSchemaName();
+                case "schemaVersion" -> schema.getSchemaVersion();
+                case "revision" -> schema.getRevision();
+                case "description" -> schema.getDescription();
+                case "formConfig" -> schema.getFormConfig();
+                case "createdAt" -> schema.getCreatedAt();
+                case "updatedAt" -> schema.getUpdatedAt();
+                case "createdBy" -> schema.getCreatedBy();
+                case "status" -> schema.getStatus();
+                case "tags" -> schema.getTags();
+                default -> throw new IllegalArgumentException("Unknown schema field: " + field);
+            });
         }
+        return projection;
+    }
 
-        return Optional.empty();
+    public Optional<FormSchema> updateSchema(String schemaId, SchemaCreateRequest request) {
+        return updateSchema(schemaId, request, null);
+    }
+
+    /**
+     * Replaces the schema's definition. With an {@code expectedRevision}, the update fails with a
+     * {@link SchemaConflictException} unless that is still the current revision.
+     */
+    public Optional<FormSchema> updateSchema(String schemaId, SchemaCreateRequest request, Long expectedRevision) {
+        return update("update", schemaId, expectedRevision, existing -> existing.toBuilder()
+                .schemaName(request.getSchemaName())
+                .schemaVersion(request.getSchemaVersion())
+                .description(request.getDescription())
+                .formConfig(request.getFormConfig())
+                .updatedAt(LocalDateTime.now())
+                .tags(request.getTags())
+                .build());
     }
 
     public Optional<FormSchema> updateSchemaStatus(String schemaId, String status) {
-        Optional<FormSchema> existingSchema = schemaRepository.findById(schemaId);
+        return updateSchemaStatus(schemaId, status, null);
+    }
 
-        if (existingSchema.isPresent()) {
-            FormSchema schema = existingSchema.get();
-            schema.setStatus(status);
-            schema.setUpdatedAt(LocalDateTime.now());
+    public Optional<FormSchema> updateSchemaStatus(String schemaId, String status, Long expectedRevision) {
+        return update("status", schemaId, expectedRevision, existing -> existing.toBuilder()
+                .status(status)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
 
-            return Optional.of(schemaRepository.save(schema));
-        }
+    public Optional<FormSchema> getSchemaRevision(String schemaId, long revision) {
+        return schemaRepository.findRevision(schemaId, revision);
+    }
 
-        return Optional.empty();
+    public List<FormSchema> getSchemaHistory(String schemaId) {
+        return schemaRepository.findHistory(schemaId);
+    }
+
+    public long countSchemas() {
+        return schemaRepository.count();
     }
 
     public boolean deleteSchema(String schemaId) {
-        if (schemaRepository.existsById(schemaId)) {
-            schemaRepository.deleteById(schemaId);
-            return true;
+        return deleteSchema(schemaId, null);
+    }
+
+    public boolean deleteSchema(String schemaId, Long expectedRevision) {
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            while (true) {
+                Optional<FormSchema> existing = schemaRepository.findById(schemaId);
+                if (existing.isEmpty()) {
+                    outcome = "not_found";
+                    return false;
+                }
+                long revision = existing.get().getRevision();
+                checkRevision(schemaId, expectedRevision, revision);
+                if (schemaRepository.deleteIfRevision(schemaId, revision)) {
+                    outcome = "deleted";
+                    return true;
+                }
+                writeRetries.increment();
+            }
+        } catch (SchemaConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            recordWrite("delete", outcome, start);
+        }
+    }
+
+    /**
+     * Applies {@code change} to the current snapshot and saves the result if no other update got in first.
+     * Otherwise the change is applied again to the newer snapshot, unless a specific revision was expected.
+     */
+    private Optional<FormSchema> update(String operation, String schemaId, Long expectedRevision,
+                                        UnaryOperator<FormSchema> change) {
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            while (true) {
+                Optional<FormSchema> existing = schemaRepository.findById(schemaId);
+                if (existing.isEmpty()) {
+                    outcome = "not_found";
+                    return Optional.empty();
+                }
+                long revision = existing.get().getRevision();
+                checkRevision(schemaId, expectedRevision, revision);
+
+                Optional<FormSchema> saved = schemaRepository.saveIfRevision(change.apply(existing.get()), revision);
+                if (saved.isPresent()) {
+                    outcome = "saved";
+                    return saved;
+                }
+                writeRetries.increment();
+            }
+        } catch (SchemaConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            recordWrite(operation, outcome, start);
+        }
+    }
+
+    private void recordWrite(String operation, String outcome, long start) {
+        meterRegistry.timer("dynamicforms.schemas.writes", "operation", operation, "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static void checkRevision(String schemaId, Long expectedRevision, long currentRevision) {
+        if (expectedRevision != null && expectedRevision != currentRevision) {
+            throw new SchemaConflictException(schemaId, expectedRevision, currentRevision);
         }
-        return false;
     }
 
     public void initializeDefaultSchemas() {
@@ -135,6 +288,7 @@ public class SchemaService {
                 .schemaId(schema.getSchemaId())
                 .schemaName(schema.getSchemaName())
                 .schemaVersion(schema.getSchemaVersion())
+                .revision(schema.getRevision())
                 .description(schema.getDescription())
                 .status(schema.getStatus())
                 .tags(schema.getTags())
@@ -0,0 +1,107 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.ValidationError;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.validation.SubmissionRejectedException;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates an NDJSON stream of form data records against one resolved form, writing one
+ * {@link ValidationResponse} line per record. Only the record being validated is held in memory,
+ * and both streams are blocking, so a client that reads results slowly stalls the reading of input.
+ */
+@Service
+public class StreamingValidationService {
+
+    // Results are pushed to the client every this many records, and otherwise whenever the buffer fills
+    private static final int FLUSH_INTERVAL = 256;
+
+    private static final ValidationResponse NOT_AN_OBJECT = ValidationResponse.builder()
+            .valid(false)
+            .errors(List.of(ValidationError.builder()
+                    .field("record")
+                    .message("Record must be a JSON object")
+                    .validationType("system")
+                    .build()))
+            .message("Form validation failed")
+            .build();
+
+    private final FormValidationService validationService;
+    private final SubmissionBinder submissionBinder;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter responseWriter;
+
+    public StreamingValidationService(FormValidationService validationService, SubmissionBinder submissionBinder,
+                                      ObjectMapper objectMapper) {
+        this.validationService = validationService;
+        this.submissionBinder = submissionBinder;
+        this.objectMapper = objectMapper;
+        this.responseWriter = objectMapper.writerFor(ValidationResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Returns the number of records validated. The resolution is expected to hold a plan. A record that is
+     * not a JSON object, or breaks the form's submission limits, gets a failed response; malformed JSON ends
+     * the stream with a final {@code {"error": ...}} line, since the parser cannot resynchronize.
+     */
+    public long validateStream(PlanResolution resolution, ValidationOptions options, InputStream input,
+                               OutputStream output) throws IOException {
+        long records = 0;
+        try (JsonParser parser = submissionBinder.createParser(input);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    ValidationResponse response;
+                    if (token == JsonToken.START_OBJECT) {
+                        response = validateRecord(parser, resolution, options);
+                    } else {
+                        parser.skipChildren();
+                        response = NOT_AN_OBJECT;
+                    }
+                    responseWriter.writeValue(generator, response);
+                    generator.writeRaw('\n');
+                    if (++records % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                generator.writeStartObject();
+                generator.writeStringField("error", "Malformed record after " + records + " records: "
+                        + e.getOriginalMessage());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return records;
+    }
+
+    private ValidationResponse validateRecord(JsonParser parser, PlanResolution resolution, ValidationOptions options)
+            throws IOException {
+        Map<String, Object> data;
+        try {
+            data = submissionBinder.bindRecord(parser, resolution);
+        } catch (SubmissionRejectedException e) {
+            // The rest of the record is skipped, so the next one is read as usual
+            SubmissionBinder.skipToDepth(parser, 0);
+            return submissionBinder.response(e);
+        }
+        return validationService.validate(resolution, data, options);
+    }
+}
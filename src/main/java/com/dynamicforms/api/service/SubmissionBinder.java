@@ -0,0 +1,415 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.FormLimits;
+import com.dynamicforms.api.model.FormSubmission;
+import com.dynamicforms.api.model.ValidationError;
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.validation.DataLimits;
+import com.dynamicforms.api.validation.SubmissionData;
+import com.dynamicforms.api.validation.SubmissionRejectedException;
+import com.dynamicforms.api.validation.SubmissionRejectedException.Reason;
+import com.dynamicforms.api.validation.ValidationPlan;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reads a JSON {@link FormSubmission} and binds its {@code data} straight into the slots of the plan it is
+ * validated against, so keys no rule reads are skipped by the parser rather than collected into a map.
+ * The plan is resolved from the identifiers preceding {@code data}; when one only follows it and changes
+ * the resolution, the data is bound again.
+ * <p>
+ * The data is bound under the limits of its form, which default to the {@code dynamicforms.submissions.*}
+ * properties, and binding stops at the first token breaking one. The request body is never read beyond
+ * {@code max-payload-bytes}, and no string beyond {@code max-string-length} is decoded.
+ */
+@Service
+public class SubmissionBinder {
+
+    // Bytes a batch parser may have read beyond the element it is on
+    private static final int READ_AHEAD_BYTES = 64 * 1024;
+
+    private final FormValidationService validationService;
+    private final JsonFactory jsonFactory;
+    private final ObjectReader valueReader;
+    private final ObjectReader stringReader;
+    private final ObjectReader revisionReader;
+    private final ObjectReader changedFieldsReader;
+    private final int maxPayloadBytes;
+    private final int maxDepth;
+    private final int maxKeys;
+    private final boolean rejectUnknownFields;
+    private final int overlongMargin;
+    private final Map<Reason, Counter> rejections = new EnumMap<>(Reason.class);
+
+    public SubmissionBinder(FormValidationService validationService, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${dynamicforms.submissions.max-payload-bytes:1048576}") int maxPayloadBytes,
+                            @Value("${dynamicforms.submissions.max-depth:8}") int maxDepth,
+                            @Value("${dynamicforms.submissions.max-keys:10000}") int maxKeys,
+                            @Value("${dynamicforms.submissions.max-string-length:1048576}") int maxStringLength,
+                            @Value("${dynamicforms.submissions.reject-unknown-fields:false}")
+                            boolean rejectUnknownFields,
+                            @Value("${dynamicforms.submissions.overlong-margin:1024}") int overlongMargin) {
+        this.validationService = validationService;
+        // Names are not interned: a flood of distinct keys would otherwise fill the JVM string table
+        this.jsonFactory = objectMapper.getFactory().copy()
+                .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+                .setStreamReadConstraints(StreamReadConstraints.builder()
+                        .maxStringLength(maxStringLength)
+                        .build());
+        this.valueReader = objectMapper.readerFor(Object.class);
+        this.stringReader = objectMapper.readerFor(String.class);
+        this.revisionReader = objectMapper.readerFor(Long.class);
+        this.changedFieldsReader = objectMapper.readerFor(new TypeReference<List<String>>() {
+        });
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.maxDepth = maxDepth;
+        this.maxKeys = maxKeys;
+        this.rejectUnknownFields = rejectUnknownFields;
+        this.overlongMargin = overlongMargin;
+        for (Reason reason : Reason.values()) {
+            rejections.put(reason, Counter.builder("dynamicforms.submissions.rejected")
+                    .description("Submissions and stream records rejected while their data was parsed")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reads a submission and resolves its plan. Unknown properties are ignored, as when binding to
+     * {@code FormSubmission}, and the data holds the keys the plan reads. Data rejected for the value of
+     * a field comes back as a {@link BoundSubmission#rejection()}.
+     *
+     * @param fullValidation whether all rules will run, so that a value far beyond the maxLength of an
+     *                       always-active field can only fail
+     * @throws SubmissionRejectedException when the body or its data is too large
+     */
+    public BoundSubmission bind(InputStream body, boolean fullValidation) throws IOException {
+        byte[] bytes = body.readNBytes(maxPayloadBytes + 1);
+        if (bytes.length > maxPayloadBytes) {
+            throw rejected(new SubmissionRejectedException(Reason.PAYLOAD_TOO_LARGE, null,
+                    "Submission exceeds " + maxPayloadBytes + " bytes"));
+        }
+        return bind(bytes, fullValidation, validationService::resolve);
+    }
+
+    /**
+     * Reads a batch of submissions, a JSON array or a sequence of NDJSON lines, binding each as {@link #bind}
+     * does, with {@code max-payload-bytes} applying to each submission. Each form or schema is resolved once per
+     * batch. A null element is returned as null.
+     *
+     * @throws IllegalArgumentException    as soon as the batch holds more than {@code maxSubmissions}
+     * @throws SubmissionRejectedException when a submission or its data is too large
+     */
+    public List<BoundSubmission> bindBatch(InputStream body, boolean array, int maxSubmissions) throws IOException {
+        Map<String, PlanResolution> resolved = new HashMap<>();
+        Function<FormSubmission, PlanResolution> resolver = submission -> resolved.computeIfAbsent(
+                FormValidationService.resolutionKey(submission), key -> validationService.resolve(submission));
+
+        RetainingInputStream input = new RetainingInputStream(body, maxPayloadBytes + READ_AHEAD_BYTES);
+        List<BoundSubmission> submissions = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (array) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw MismatchedInputException.from(parser, List.class,
+                            "Batch must be a JSON array, found " + token);
+                }
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (submissions.size() == maxSubmissions) {
+                    throw new IllegalArgumentException("Batch exceeds the maximum of " + maxSubmissions
+                            + " submissions");
+                }
+                long start = parser.currentTokenLocation().getByteOffset();
+                skipElement(parser, start);
+                long end = parser.currentLocation().getByteOffset();
+                submissions.add(token == JsonToken.VALUE_NULL ? null
+                        : bind(input.retained(start, end), true, resolver));
+                input.release(end);
+                token = parser.nextToken();
+            }
+        }
+        return submissions;
+    }
+
+    // Moves past the element at the parser's current token, rejecting it once it grows beyond max-payload-bytes
+    private void skipElement(JsonParser parser, long start) throws IOException {
+        int depth = parser.currentToken().isStructStart() ? 1 : 0;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (parser.currentLocation().getByteOffset() - start > maxPayloadBytes) {
+                throw rejected(new SubmissionRejectedException(Reason.PAYLOAD_TOO_LARGE, null,
+                        "Submission exceeds " + maxPayloadBytes + " bytes"));
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+        }
+    }
+
+    private BoundSubmission bind(byte[] bytes, boolean fullValidation,
+                                 Function<FormSubmission, PlanResolution> resolver) throws IOException {
+        FormSubmission submission = new FormSubmission();
+        PlanResolution resolution = null;
+        String boundKey = null;
+        boolean hasData = false;
+        SubmissionRejectedException rejection = null;
+
+        try (JsonParser parser = jsonFactory.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, FormSubmission.class,
+                        "Submission must be a JSON object, found " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String property = parser.currentName();
+                parser.nextToken();
+                switch (property) {
+                    case "formId" -> submission.setFormId(readString(parser));
+                    case "schemaId" -> submission.setSchemaId(readString(parser));
+                    case "schemaName" -> submission.setSchemaName(readString(parser));
+                    case "schemaVersion" -> submission.setSchemaVersion(readString(parser));
+                    case "schemaRevision" -> submission.setSchemaRevision(revisionReader.readValue(parser));
+                    case "changedFields" -> submission.setChangedFields(changedFieldsReader.readValue(parser));
+                    case "data" -> {
+                        String key = FormValidationService.resolutionKey(submission);
+                        if (!key.equals(boundKey)) {
+                            resolution = resolver.apply(submission);
+                            boundKey = key;
+                        }
+                        hasData = true;
+                        // Kept until the resolution is final, since an identifier after the data may change it
+                        try {
+                            rejection = null;
+                            submission.setData(readData(parser, resolution, bytes.length, fullValidation));
+                        } catch (SubmissionRejectedException e) {
+                            rejection = e;
+                            submission.setData(null);
+                            skipToDepth(parser, 1);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (!FormValidationService.resolutionKey(submission).equals(boundKey)) {
+            resolution = resolver.apply(submission);
+            rejection = null;
+            if (hasData) {
+                try {
+                    submission.setData(rebindData(bytes, resolution, fullValidation));
+                } catch (SubmissionRejectedException e) {
+                    rejection = e;
+                    submission.setData(null);
+                }
+            }
+        }
+
+        if (rejection != null) {
+            rejected(rejection);
+            if (rejection.getReason().isSizeLimit()) {
+                throw rejection;
+            }
+            return new BoundSubmission(submission, resolution, response(rejection));
+        }
+        return new BoundSubmission(submission, resolution, null);
+    }
+
+    /**
+     * Creates a parser for a stream of records, to be read with {@link #bindRecord}.
+     */
+    public JsonParser createParser(InputStream input) throws IOException {
+        return jsonFactory.createParser(input);
+    }
+
+    /**
+     * Binds the data record at the parser's current {@code START_OBJECT} token under the limits of the resolved
+     * form, {@code max-payload-bytes} applying to the record.
+     *
+     * @throws SubmissionRejectedException when the record breaks a limit; the parser is then within the record
+     */
+    public SubmissionData bindRecord(JsonParser parser, PlanResolution resolution) throws IOException {
+        try {
+            return resolution.plan().readData(parser, valueReader, limits(resolution.plan(), -1, true));
+        } catch (SubmissionRejectedException e) {
+            throw rejected(e);
+        }
+    }
+
+    /**
+     * The validation response for rejected data: a failed maxLength rule of the field whose value was too long,
+     * and otherwise a system error.
+     */
+    public ValidationResponse response(SubmissionRejectedException rejection) {
+        ValidationError error = ValidationError.builder()
+                .field(rejection.getField() != null ? rejection.getField() : "data")
+                .message(rejection.getMessage())
+                .validationType(rejection.getReason() == Reason.VALUE_TOO_LONG ? "field" : "system")
+                .build();
+        return ValidationResponse.builder()
+                .valid(false)
+                .errors(List.of(error))
+                .message("Form validation failed")
+                .build();
+    }
+
+    /**
+     * Moves the parser past the value it is within, up to the given nesting depth.
+     */
+    public static void skipToDepth(JsonParser parser, int depth) throws IOException {
+        while (parser.getParsingContext().getNestingDepth() > depth) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+
+    // The data of a submission that cannot be resolved is never validated
+    private SubmissionData readData(JsonParser parser, PlanResolution resolution, int payloadBytes,
+                                    boolean fullValidation) throws IOException {
+        if (resolution.plan() == null) {
+            parser.skipChildren();
+            return null;
+        }
+        return resolution.plan().readData(parser, valueReader,
+                limits(resolution.plan(), payloadBytes, fullValidation));
+    }
+
+    private SubmissionData rebindData(byte[] body, PlanResolution resolution, boolean fullValidation)
+            throws IOException {
+        SubmissionData data = null;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean isData = "data".equals(parser.currentName());
+                parser.nextToken();
+                if (isData) {
+                    data = readData(parser, resolution, body.length, fullValidation);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * The limits of a form, checking a submission of {@code payloadBytes} bytes against its payload limit first.
+     * With {@code payloadBytes} -1 the payload limit applies to the data instead.
+     */
+    private DataLimits limits(ValidationPlan plan, int payloadBytes, boolean fullValidation) {
+        FormLimits form = plan.getLimits() != null ? plan.getLimits() : new FormLimits();
+        int payloadLimit = valueOrDefault(form.getMaxPayloadBytes(), maxPayloadBytes);
+        if (payloadBytes > payloadLimit) {
+            throw new SubmissionRejectedException(Reason.PAYLOAD_TOO_LARGE, null,
+                    "Submission exceeds " + payloadLimit + " bytes");
+        }
+        return new DataLimits(payloadBytes < 0 ? payloadLimit : Long.MAX_VALUE,
+                valueOrDefault(form.getMaxDepth(), maxDepth),
+                valueOrDefault(form.getMaxKeys(), maxKeys),
+                form.getRejectUnknownFields() != null ? form.getRejectUnknownFields() : rejectUnknownFields,
+                fullValidation ? valueOrDefault(form.getOverlongMargin(), overlongMargin) : -1);
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private SubmissionRejectedException rejected(SubmissionRejectedException rejection) {
+        rejections.get(rejection.getReason()).increment();
+        return rejection;
+    }
+
+    private String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_STRING ? parser.getText() : stringReader.readValue(parser);
+    }
+
+    /**
+     * Keeps the bytes read from a stream since the last {@link #release}, so that the bytes of one batch element
+     * can be taken once the parser has found where it ends. Holding more than {@code maxRetained} rejects the
+     * element being read.
+     */
+    private final class RetainingInputStream extends FilterInputStream {
+
+        private final int maxRetained;
+        private byte[] buffer = new byte[8192];
+        // Stream offset of buffer[0]
+        private long base;
+        private int count;
+
+        RetainingInputStream(InputStream in, int maxRetained) {
+            super(in);
+            this.maxRetained = maxRetained;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                if (count + read > maxRetained) {
+                    throw rejected(new SubmissionRejectedException(Reason.PAYLOAD_TOO_LARGE, null,
+                            "Submission exceeds " + maxPayloadBytes + " bytes"));
+                }
+                if (count + read > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.max(count + read, buffer.length * 2));
+                }
+                System.arraycopy(b, off, buffer, count, read);
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return read(new byte[(int) Math.min(n, 8192)]);
+        }
+
+        byte[] retained(long from, long to) {
+            return Arrays.copyOfRange(buffer, (int) (from - base), (int) (to - base));
+        }
+
+        void release(long upTo) {
+            int released = (int) (upTo - base);
+            System.arraycopy(buffer, released, buffer, 0, count - released);
+            count -= released;
+            base = upTo;
+        }
+    }
+
+    /**
+     * A read submission with its resolved plan. {@code rejection} is the response to return instead of
+     * validating, when the data was rejected for the value of a field.
+     */
+    public record BoundSubmission(FormSubmission submission, PlanResolution resolution,
+                                  ValidationResponse rejection) {
+    }
+}
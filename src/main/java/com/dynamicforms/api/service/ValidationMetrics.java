@@ -0,0 +1,107 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.validation.RuleFailureListener;
+import com.dynamicforms.api.validation.SubmissionData;
+import com.dynamicforms.api.validation.ValidationPlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation meters, tagged by form id. The meters of a form are looked up once when its plan is
+ * compiled, so recording a validation is a few counter and histogram updates without allocation.
+ */
+@Component
+public class ValidationMetrics {
+
+    public static final String VALIDATION = "dynamicforms.validation";
+
+    // A few fixed buckets rather than a percentile histogram: each recording searches the bucket boundaries
+    private static final Duration[] LATENCY_BUCKETS = {Duration.ofNanos(1_000), Duration.ofNanos(5_000),
+            Duration.ofNanos(10_000), Duration.ofNanos(50_000), Duration.ofNanos(100_000), Duration.ofNanos(500_000),
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(50)};
+
+    private final MeterRegistry registry;
+    private final Counter unresolved;
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.unresolved = Counter.builder(VALIDATION + ".unresolved")
+                .description("Validations whose form or schema could not be resolved")
+                .register(registry);
+    }
+
+    public FormMeters forPlan(ValidationPlan plan) {
+        return new FormMeters(registry, plan.getFormId() != null ? plan.getFormId() : "none", plan.getRuleTypes());
+    }
+
+    void recordUnresolved() {
+        unresolved.increment();
+    }
+
+    /**
+     * The meters of one form. Also counts the failures of the form's rules, by rule type.
+     */
+    public static final class FormMeters implements RuleFailureListener {
+
+        private final Timer valid;
+        private final Timer invalid;
+        private final Timer changedValid;
+        private final Timer changedInvalid;
+        private final DistributionSummary fieldCount;
+        private final DistributionSummary errorCount;
+        private final Counter[] ruleFailures;
+
+        private FormMeters(MeterRegistry registry, String formId, List<String> ruleTypes) {
+            this.valid = timer(registry, formId, "full", "valid");
+            this.invalid = timer(registry, formId, "full", "invalid");
+            this.changedValid = timer(registry, formId, "changed", "valid");
+            this.changedInvalid = timer(registry, formId, "changed", "invalid");
+            this.fieldCount = DistributionSummary.builder(VALIDATION + ".fields")
+                    .description("Fields in the submitted data")
+                    .tag("form", formId)
+                    .serviceLevelObjectives(1, 5, 10, 20, 50, 100, 200, 500, 1000, 5000)
+                    .register(registry);
+            this.errorCount = DistributionSummary.builder(VALIDATION + ".errors")
+                    .description("Errors reported for a submission")
+                    .tag("form", formId)
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                    .register(registry);
+            this.ruleFailures = new Counter[ruleTypes.size()];
+            for (int i = 0; i < ruleFailures.length; i++) {
+                ruleFailures[i] = Counter.builder(VALIDATION + ".rule.failures")
+                        .description("Failed rules, by rule type")
+                        .tags("form", formId, "rule", ruleTypes.get(i))
+                        .register(registry);
+            }
+        }
+
+        @Override
+        public void ruleFailed(int ruleType) {
+            ruleFailures[ruleType].increment();
+        }
+
+        void record(boolean changedFields, Map<String, Object> data, int errors, long nanos) {
+            Timer timer = changedFields ? (errors == 0 ? changedValid : changedInvalid) : (errors == 0 ? valid : invalid);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            fieldCount.record(data == null ? 0
+                    : data instanceof SubmissionData bound ? bound.getSubmittedFieldCount() : data.size());
+            errorCount.record(errors);
+        }
+
+        private static Timer timer(MeterRegistry registry, String formId, String scope, String outcome) {
+            return Timer.builder(VALIDATION)
+                    .description("Time spent running a form's rules against a submission")
+                    .tags("form", formId, "scope", scope, "outcome", outcome)
+                    .serviceLevelObjectives(LATENCY_BUCKETS)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.ValidationResponse;
+import com.dynamicforms.api.validation.DataFingerprint;
+import com.dynamicforms.api.validation.ValidationOptions;
+import com.dynamicforms.api.validation.ValidationPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of full validation responses, for submissions that are retried or duplicated on the way.
+ * A response is keyed by the plan it was validated against, the validation options and a
+ * {@link DataFingerprint} of the data the plan reads, so the plan of each form and schema revision stands for
+ * its form id and version. The fingerprint holds the submitted values, which are compared on lookup rather
+ * than trusted to a hash. Entries expire after {@code ttl-seconds}; the entries of a schema are dropped when
+ * it changes.
+ */
+@Service
+public class ValidationResultCache {
+
+    private final Map<Key, Entry> responses = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ReentrantLock eviction = new ReentrantLock();
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public ValidationResultCache(@Value("${dynamicforms.validation.result-cache.enabled:false}") boolean enabled,
+                                 @Value("${dynamicforms.validation.result-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${dynamicforms.validation.result-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled && maxEntries > 0 && ttlSeconds > 0;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Key key(ValidationPlan plan, Map<String, Object> data, ValidationOptions options) {
+        return new Key(plan, options, plan.fingerprint(data));
+    }
+
+    /**
+     * Returns the cached response for the key, or {@code null} when there is none or it has expired.
+     * Responses are shared between requests and must not be modified.
+     */
+    public ValidationResponse get(Key key) {
+        Entry entry = responses.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+            hits.increment();
+            return entry.response();
+        }
+        if (entry != null) {
+            responses.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(Key key, ValidationResponse response) {
+        if (responses.size() >= maxEntries && eviction.tryLock()) {
+            try {
+                evict();
+            } finally {
+                eviction.unlock();
+            }
+        }
+        responses.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Drops the responses validated against any of the plans, once they have been replaced.
+     */
+    public void invalidate(Collection<ValidationPlan> plans) {
+        if (!plans.isEmpty() && !responses.isEmpty()) {
+            responses.keySet().removeIf(key -> plans.contains(key.plan()));
+        }
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    // Expired entries, then the first in table order down to nine tenths of the bound, so that a full cache
+    // is swept once every tenth of its size puts rather than on each put
+    private void evict() {
+        long now = System.nanoTime();
+        responses.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        Iterator<Key> keys = responses.keySet().iterator();
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        while (responses.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * A plan, compared by identity, with the options and the data's fingerprint.
+     */
+    public record Key(ValidationPlan plan, ValidationOptions options, DataFingerprint data) {
+    }
+
+    private record Entry(ValidationResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Numeric and date values of one submission, coerced on first use. Rules address values by field slot; the plan
+ * compiler also gives every field read as a number or a date a coercion slot, so all rules reading the same
+ * field share a single conversion.
+ */
+public final class CoercedValues {
+
+    private static final byte PENDING = 0;
+    private static final byte VALID = 1;
+    private static final byte INVALID = 2;
+
+    static final CoercedValues NONE = new CoercedValues(0, 0, new int[0], new int[0], null);
+
+    private final double[] numbers;
+    private final byte[] numberStates;
+    private final long[] epochDays;
+    private final byte[] dateStates;
+    // Coercion slots by field slot, shared by all submissions of a plan
+    private final int[] numberSlots;
+    private final int[] dateSlots;
+    private final SubmissionData data;
+
+    CoercedValues(int numberCount, int dateCount, int[] numberSlots, int[] dateSlots, SubmissionData data) {
+        this.numbers = new double[numberCount];
+        this.numberStates = new byte[numberCount];
+        this.epochDays = new long[dateCount];
+        this.dateStates = new byte[dateCount];
+        this.numberSlots = numberSlots;
+        this.dateSlots = dateSlots;
+        this.data = data;
+    }
+
+    /**
+     * Whether the field's value, {@code value}, is a number. Only the first call for a field converts it.
+     */
+    boolean isNumber(int fieldSlot, Object value) {
+        int slot = numberSlots[fieldSlot];
+        if (numberStates[slot] == PENDING) {
+            numberStates[slot] = data.number(fieldSlot, value, numbers, slot) ? VALID : INVALID;
+        }
+        return numberStates[slot] == VALID;
+    }
+
+    double number(int fieldSlot) {
+        return numbers[numberSlots[fieldSlot]];
+    }
+
+    /**
+     * Whether the field's value, {@code value}, is an ISO date. Only the first call for a field converts it.
+     */
+    boolean isDate(int fieldSlot, Object value) {
+        int slot = dateSlots[fieldSlot];
+        if (dateStates[slot] == PENDING) {
+            dateStates[slot] = DateParser.parse(value, epochDays, slot) ? VALID : INVALID;
+        }
+        return dateStates[slot] == VALID;
+    }
+
+    long epochDay(int fieldSlot) {
+        return epochDays[dateSlots[fieldSlot]];
+    }
+}
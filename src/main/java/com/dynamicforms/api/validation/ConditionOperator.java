@@ -0,0 +1,78 @@
+package com.dynamicforms.api.validation;
+
+import java.util.List;
+
+/**
+ * Operators of a {@link com.dynamicforms.api.model.FieldCondition}. Values are compared loosely, so a
+ * condition on {@code true} or {@code 5} also matches the submitted strings {@code "true"} or {@code "5.0"}.
+ */
+enum ConditionOperator {
+    EQUALS {
+        @Override
+        boolean test(Object actual, Object value, List<Object> values) {
+            return matches(actual, value);
+        }
+    },
+    NOT_EQUALS {
+        @Override
+        boolean test(Object actual, Object value, List<Object> values) {
+            return !matches(actual, value);
+        }
+    },
+    IN {
+        @Override
+        boolean test(Object actual, Object value, List<Object> values) {
+            return contains(values, actual);
+        }
+    },
+    NOT_IN {
+        @Override
+        boolean test(Object actual, Object value, List<Object> values) {
+            return !contains(values, actual);
+        }
+    };
+
+    abstract boolean test(Object actual, Object value, List<Object> values);
+
+    /**
+     * Returns the operator for a condition's operator name, or {@code null} when it is not supported.
+     */
+    static ConditionOperator fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name) {
+            case "equals" -> EQUALS;
+            case "notEquals" -> NOT_EQUALS;
+            case "in" -> IN;
+            case "notIn" -> NOT_IN;
+            default -> null;
+        };
+    }
+
+    private static boolean contains(List<Object> values, Object actual) {
+        for (Object value : values) {
+            if (matches(actual, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Object actual, Object expected) {
+        if (actual == null || expected == null) {
+            return actual == expected;
+        }
+        if (actual.equals(expected)) {
+            return true;
+        }
+        if (actual instanceof Number a && expected instanceof Number e) {
+            return Double.compare(a.doubleValue(), e.doubleValue()) == 0;
+        }
+        if (expected instanceof Number e) {
+            double[] number = new double[1];
+            return NumberParser.parse(actual, number, 0) && number[0] == e.doubleValue();
+        }
+        return actual.toString().equals(expected.toString());
+    }
+}
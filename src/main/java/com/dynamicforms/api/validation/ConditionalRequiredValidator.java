@@ -0,0 +1,20 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Map;
+
+public record ConditionalRequiredValidator(String conditionField, int conditionSlot, String requiredField,
+                                           int requiredSlot, String errorField, String errorMessage)
+        implements CrossFieldValidator {
+
+    @Override
+    public ValidationError validate(Map<String, Object> data, CoercedValues coerced) {
+        // If the condition field is "custom" and the required field is empty, return error
+        if ("custom".equals(SubmissionData.value(data, conditionSlot, conditionField))
+                && RequiredValidator.isBlank(SubmissionData.value(data, requiredSlot, requiredField))) {
+            return ValidationErrors.crossField(errorField, errorMessage);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * A cross-field rule together with the indices of the form fields it reads. The rule is skipped
+ * when any of those fields is inactive.
+ */
+final class CrossFieldPlan {
+
+    private final CrossFieldValidator validator;
+    private final int[] fieldIndexes;
+    private final int ruleType;
+
+    CrossFieldPlan(CrossFieldValidator validator, int[] fieldIndexes, int ruleType) {
+        this.validator = validator;
+        this.fieldIndexes = fieldIndexes;
+        this.ruleType = ruleType;
+    }
+
+    CrossFieldValidator getValidator() {
+        return validator;
+    }
+
+    int getRuleType() {
+        return ruleType;
+    }
+
+    boolean isActive(boolean[] activeFields) {
+        for (int field : fieldIndexes) {
+            if (!activeFields[field]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
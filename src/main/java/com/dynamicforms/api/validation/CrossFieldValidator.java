@@ -0,0 +1,14 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Map;
+
+/**
+ * A pre-resolved cross-field rule. Returns the error for the submission, or {@code null} when it passes.
+ * Numbers and dates are read through {@code coerced}, shared with the field rules of the same submission.
+ */
+@FunctionalInterface
+public interface CrossFieldValidator {
+    ValidationError validate(Map<String, Object> data, CoercedValues coerced);
+}
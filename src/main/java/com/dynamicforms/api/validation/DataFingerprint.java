@@ -0,0 +1,140 @@
+package com.dynamicforms.api.validation;
+
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values of a submission in the slots of one plan, for use as a cache key. Fingerprints are equal when
+ * every slot holds a value of the same type and content, nested maps in the same key order, since a rule
+ * may see a map only as its string form. The hash is seeded per process, so that colliding submissions
+ * cannot be crafted in advance.
+ */
+public final class DataFingerprint {
+
+    private static final long SEED = new SecureRandom().nextLong();
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final Object ABSENT = new Object();
+
+    private final Object[] values;
+    private final int hash;
+
+    private DataFingerprint(Object[] values, int hash) {
+        this.values = values;
+        this.hash = hash;
+    }
+
+    static DataFingerprint of(SubmissionData data) {
+        FieldSlots slots = data.slots();
+        Object[] values = new Object[slots.size()];
+        long hash = SEED;
+        for (int slot = 0; slot < values.length; slot++) {
+            Object value = data.isPresent(slot) ? data.get(slot) : ABSENT;
+            values[slot] = value;
+            hash = hash(hash, value);
+        }
+        return new DataFingerprint(values, (int) (hash ^ (hash >>> 32)));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DataFingerprint fingerprint) || fingerprint.hash != hash
+                || fingerprint.values.length != values.length) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (!same(values[i], fingerprint.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.getClass() != b.getClass()) {
+            return false;
+        }
+        if (a instanceof Map<?, ?> first) {
+            Map<?, ?> second = (Map<?, ?>) b;
+            if (first.size() != second.size()) {
+                return false;
+            }
+            Iterator<? extends Map.Entry<?, ?>> entries = second.entrySet().iterator();
+            for (Map.Entry<?, ?> entry : first.entrySet()) {
+                Map.Entry<?, ?> other = entries.next();
+                if (!same(entry.getKey(), other.getKey()) || !same(entry.getValue(), other.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof List<?> first) {
+            List<?> second = (List<?>) b;
+            if (first.size() != second.size()) {
+                return false;
+            }
+            for (int i = 0; i < first.size(); i++) {
+                if (!same(first.get(i), second.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+
+    private static long hash(long hash, Object value) {
+        if (value instanceof String string) {
+            hash = mix(hash, string.length());
+            int i = 0;
+            for (; i + 4 <= string.length(); i += 4) {
+                hash = mix(hash, string.charAt(i) | (long) string.charAt(i + 1) << 16
+                        | (long) string.charAt(i + 2) << 32 | (long) string.charAt(i + 3) << 48);
+            }
+            long rest = 0;
+            for (; i < string.length(); i++) {
+                rest = rest << 16 | string.charAt(i);
+            }
+            return mix(hash, rest);
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return mix(mix(hash, value.getClass().hashCode()), ((Number) value).longValue());
+        }
+        if (value instanceof Double number) {
+            return mix(hash, Double.doubleToLongBits(number));
+        }
+        if (value instanceof Map<?, ?> map) {
+            hash = mix(hash, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                hash = hash(hash(hash, entry.getKey()), entry.getValue());
+            }
+            return hash;
+        }
+        if (value instanceof List<?> list) {
+            hash = mix(hash, list.size());
+            for (Object element : list) {
+                hash = hash(hash, element);
+            }
+            return hash;
+        }
+        return mix(hash, value == null ? 0 : value.hashCode());
+    }
+
+    // Not linear in the input, so that equal hashes cannot be produced without knowing the seed
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * MULTIPLIER;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Limits enforced while submission data is bound, see {@link SubmissionData}.
+ *
+ * @param maxBytes            bytes of the data object
+ * @param maxDepth            nesting of objects and arrays, the data object being at depth 1
+ * @param maxKeys             keys at any depth
+ * @param rejectUnknownFields whether a key that no rule or condition reads is rejected rather than skipped
+ * @param overlongMargin      characters a string may exceed the maxLength of an always-active field by before
+ *                            it is rejected, or -1 to leave such values to validation
+ */
+public record DataLimits(long maxBytes, int maxDepth, int maxKeys, boolean rejectUnknownFields, int overlongMargin) {
+
+    public static final DataLimits NONE = new DataLimits(Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+            false, -1);
+}
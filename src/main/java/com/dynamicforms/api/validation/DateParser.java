@@ -0,0 +1,80 @@
+package com.dynamicforms.api.validation;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses ISO dates the way {@link LocalDate#parse(CharSequence)} does, reporting malformed input through the
+ * return value. Plain {@code yyyy-MM-dd} values are converted without allocating; signed or longer years,
+ * which only {@code LocalDate.parse} handles, fall back to it.
+ */
+final class DateParser {
+
+    private static final int ISO_DATE_LENGTH = 10;
+
+    private DateParser() {
+    }
+
+    /**
+     * Stores the epoch day of {@code value} in {@code out[index]}, or returns {@code false} when it is not a date.
+     */
+    static boolean parse(Object value, long[] out, int index) {
+        if (value instanceof LocalDate date) {
+            out[index] = date.toEpochDay();
+            return true;
+        }
+        String text = value.toString();
+        if (text.length() < ISO_DATE_LENGTH) {
+            return false;
+        }
+        if (text.length() > ISO_DATE_LENGTH || !isDigit(text.charAt(0))) {
+            return parseSlow(text, out, index);
+        }
+
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return false;
+        }
+        out[index] = LocalDate.of(year, month, day).toEpochDay();
+        return true;
+    }
+
+    private static boolean parseSlow(String text, long[] out, int index) {
+        try {
+            out[index] = LocalDate.parse(text).toEpochDay();
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // Returns -1 unless every character in the range is an ASCII digit
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
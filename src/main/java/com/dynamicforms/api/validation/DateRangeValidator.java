@@ -0,0 +1,30 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Map;
+
+public record DateRangeValidator(String startField, int startSlot, String endField, int endSlot, boolean lessThan,
+                                 String errorField, String errorMessage) implements CrossFieldValidator {
+
+    static final String INVALID_DATE = "Invalid date format";
+
+    @Override
+    public ValidationError validate(Map<String, Object> data, CoercedValues coerced) {
+        Object startDateObj = SubmissionData.value(data, startSlot, startField);
+        Object endDateObj = SubmissionData.value(data, endSlot, endField);
+
+        if (startDateObj == null || endDateObj == null) {
+            return null; // Skip if either date is missing (handled by required validation)
+        }
+
+        if (!coerced.isDate(startSlot, startDateObj) || !coerced.isDate(endSlot, endDateObj)) {
+            return ValidationErrors.crossField(errorField, INVALID_DATE);
+        }
+
+        if (lessThan && coerced.epochDay(startSlot) >= coerced.epochDay(endSlot)) {
+            return ValidationErrors.crossField(errorField, errorMessage);
+        }
+        return null;
+    }
+}
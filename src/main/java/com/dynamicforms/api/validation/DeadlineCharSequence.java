@@ -0,0 +1,49 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Wraps the input of a regex match and aborts the match once its deadline has passed.
+ * The regex engine reads its input through {@link #charAt(int)}, so a backtracking
+ * pattern cannot hold the calling thread longer than the configured timeout.
+ */
+final class DeadlineCharSequence implements CharSequence {
+
+    private static final int CHECK_INTERVAL_MASK = 0x3FF;
+
+    private final CharSequence delegate;
+    private final long deadline;
+    private int reads;
+
+    DeadlineCharSequence(CharSequence delegate, long deadline) {
+        this.delegate = delegate;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if ((++reads & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadline > 0) {
+            throw new MatchTimeoutException();
+        }
+        return delegate.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return delegate.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(delegate.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    static final class MatchTimeoutException extends RuntimeException {
+        MatchTimeoutException() {
+            super("Regular expression match timed out", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.FieldCondition;
+import com.dynamicforms.api.model.FormField;
+
+import java.util.*;
+
+/**
+ * Reverse index from a field name to the parts of a plan a change to that field can affect. Built once per
+ * plan, so selecting the rules for a single changed field is a map lookup.
+ */
+final class FieldDependencyIndex {
+
+    private final List<FormField> fields;
+    private final Map<String, FieldSelection> selections;
+
+    private FieldDependencyIndex(List<FormField> fields, Map<String, FieldSelection> selections) {
+        this.fields = fields;
+        this.selections = selections;
+    }
+
+    /**
+     * @param fieldPlanByField position of each field's {@link FieldPlan}, or -1 when the field has no rules
+     * @param crossFieldNames  the field names referenced by each cross-field plan
+     */
+    static FieldDependencyIndex build(List<FormField> fields, Map<String, Integer> fieldIndexes,
+                                      int[] fieldPlanByField, List<List<String>> crossFieldNames) {
+        // Conditional fields, keyed by the name their conditions depend on
+        Map<String, List<Integer>> dependents = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            List<FieldCondition> conditions = fields.get(i).getConditions();
+            if (conditions != null) {
+                for (FieldCondition condition : conditions) {
+                    dependents.computeIfAbsent(condition.getDependsOn(), name -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        Map<String, List<Integer>> crossFieldPlansByName = new HashMap<>();
+        for (int plan = 0; plan < crossFieldNames.size(); plan++) {
+            for (String name : crossFieldNames.get(plan)) {
+                crossFieldPlansByName.computeIfAbsent(name, key -> new ArrayList<>()).add(plan);
+            }
+        }
+
+        Set<String> names = new HashSet<>(fieldIndexes.keySet());
+        names.addAll(dependents.keySet());
+        names.addAll(crossFieldPlansByName.keySet());
+
+        Map<String, FieldSelection> selections = new HashMap<>();
+        for (String name : names) {
+            // The field itself plus every field whose visibility depends on it, directly or transitively
+            BitSet affected = new BitSet();
+            Integer index = fieldIndexes.get(name);
+            if (index != null) {
+                affected.set(index);
+            }
+            Deque<String> pending = new ArrayDeque<>(List.of(name));
+            while (!pending.isEmpty()) {
+                for (int dependent : dependents.getOrDefault(pending.pop(), List.of())) {
+                    if (!affected.get(dependent)) {
+                        affected.set(dependent);
+                        pending.push(fields.get(dependent).getName());
+                    }
+                }
+            }
+
+            BitSet fieldPlans = new BitSet();
+            BitSet crossFieldPlans = new BitSet();
+            crossFieldPlansByName.getOrDefault(name, List.of()).forEach(crossFieldPlans::set);
+            affected.stream().forEach(field -> {
+                if (fieldPlanByField[field] >= 0) {
+                    fieldPlans.set(fieldPlanByField[field]);
+                }
+                crossFieldPlansByName.getOrDefault(fields.get(field).getName(), List.of()).forEach(crossFieldPlans::set);
+            });
+
+            selections.put(name, selection(fields, affected, fieldPlans, crossFieldPlans));
+        }
+        return new FieldDependencyIndex(fields, selections);
+    }
+
+    FieldSelection select(Collection<String> changedFields) {
+        if (changedFields.size() == 1) {
+            return selections.getOrDefault(changedFields.iterator().next(), FieldSelection.EMPTY);
+        }
+
+        BitSet affected = new BitSet();
+        BitSet fieldPlans = new BitSet();
+        BitSet crossFieldPlans = new BitSet();
+        for (String name : changedFields) {
+            FieldSelection selection = selections.getOrDefault(name, FieldSelection.EMPTY);
+            Arrays.stream(selection.fields()).forEach(affected::set);
+            Arrays.stream(selection.fieldPlans()).forEach(fieldPlans::set);
+            Arrays.stream(selection.crossFieldPlans()).forEach(crossFieldPlans::set);
+        }
+        return selection(fields, affected, fieldPlans, crossFieldPlans);
+    }
+
+    private static FieldSelection selection(List<FormField> fields, BitSet affected, BitSet fieldPlans,
+                                            BitSet crossFieldPlans) {
+        List<String> names = affected.stream().mapToObj(field -> fields.get(field).getName()).toList();
+        return new FieldSelection(names, affected.stream().toArray(), fieldPlans.stream().toArray(),
+                crossFieldPlans.stream().toArray());
+    }
+}
@@ -0,0 +1,20 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Map;
+
+public record FieldMatchValidator(String firstField, int firstSlot, String secondField, int secondSlot,
+                                  String errorField, String errorMessage) implements CrossFieldValidator {
+
+    @Override
+    public ValidationError validate(Map<String, Object> data, CoercedValues coerced) {
+        Object value1 = SubmissionData.value(data, firstSlot, firstField);
+        Object value2 = SubmissionData.value(data, secondSlot, secondField);
+
+        if (value1 == null || value2 == null || !value1.toString().equals(value2.toString())) {
+            return ValidationErrors.crossField(errorField, errorMessage);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public final class FieldPlan {
+
+    private final String fieldName;
+    private final int fieldIndex;
+    private final int fieldSlot;
+    private final FieldValidator[] validators;
+    private final String[] messages;
+    private final int[] ruleTypes;
+    // The same rules, cheapest first, for validation that may stop early
+    private final FieldValidator[] validatorsByCost;
+    private final String[] messagesByCost;
+    private final int[] ruleTypesByCost;
+
+    FieldPlan(String fieldName, int fieldIndex, int fieldSlot, List<FieldValidator> validators, List<String> messages,
+              int[] ruleTypes) {
+        this.fieldName = fieldName;
+        this.fieldIndex = fieldIndex;
+        this.fieldSlot = fieldSlot;
+        this.validators = validators.toArray(new FieldValidator[0]);
+        this.messages = messages.toArray(new String[0]);
+        this.ruleTypes = ruleTypes;
+
+        int[] byCost = IntStream.range(0, validators.size()).boxed()
+                .sorted(Comparator.comparingInt(i -> validators.get(i).cost()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.validatorsByCost = new FieldValidator[byCost.length];
+        this.messagesByCost = new String[byCost.length];
+        this.ruleTypesByCost = new int[byCost.length];
+        for (int i = 0; i < byCost.length; i++) {
+            validatorsByCost[i] = this.validators[byCost[i]];
+            messagesByCost[i] = this.messages[byCost[i]];
+            ruleTypesByCost[i] = ruleTypes[byCost[i]];
+        }
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    int getFieldSlot() {
+        return fieldSlot;
+    }
+
+    void validate(Object value, CoercedValues coerced, List<ValidationError> errors, ValidationOptions options,
+                  RuleFailureListener listener) {
+        if (options.isExhaustive()) {
+            for (int i = 0; i < validators.length; i++) {
+                if (!validators[i].isValid(value, coerced)) {
+                    errors.add(ValidationErrors.field(fieldName, message(validators[i], messages[i], value, coerced)));
+                    listener.ruleFailed(ruleTypes[i]);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < validatorsByCost.length; i++) {
+            FieldValidator validator = validatorsByCost[i];
+            if (!validator.isValid(value, coerced)) {
+                errors.add(ValidationErrors.field(fieldName, message(validator, messagesByCost[i], value, coerced)));
+                listener.ruleFailed(ruleTypesByCost[i]);
+                if (options.firstErrorPerField() || errors.size() >= options.maxErrors()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String message(FieldValidator validator, String ruleMessage, Object value, CoercedValues coerced) {
+        String message = validator.failureMessage(value, coerced);
+        return message != null ? message : ruleMessage;
+    }
+}
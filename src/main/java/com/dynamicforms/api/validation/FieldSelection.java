@@ -0,0 +1,44 @@
+package com.dynamicforms.api.validation;
+
+import java.util.List;
+
+/**
+ * The part of a {@link ValidationPlan} affected by a change to some fields: the changed fields themselves,
+ * the fields whose visibility depends on them, and the cross-field rules involving any of those.
+ */
+public final class FieldSelection {
+
+    static final FieldSelection EMPTY = new FieldSelection(List.of(), new int[0], new int[0], new int[0]);
+
+    private final List<String> fieldNames;
+    private final int[] fields;
+    private final int[] fieldPlans;
+    private final int[] crossFieldPlans;
+
+    FieldSelection(List<String> fieldNames, int[] fields, int[] fieldPlans, int[] crossFieldPlans) {
+        this.fieldNames = fieldNames;
+        this.fields = fields;
+        this.fieldPlans = fieldPlans;
+        this.crossFieldPlans = crossFieldPlans;
+    }
+
+    /**
+     * Names of the affected fields in form order. Their field errors, and the errors of cross-field
+     * rules involving them, are recomputed.
+     */
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    int[] fields() {
+        return fields;
+    }
+
+    int[] fieldPlans() {
+        return fieldPlans;
+    }
+
+    int[] crossFieldPlans() {
+        return crossFieldPlans;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dynamicforms.api.validation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symbol table of one plan: every submission key the plan's rules and conditions read, numbered from 0.
+ * Form fields come first, in form order, followed by other keys referenced by conditions and cross-field rules.
+ * Keys of always-active fields with a maxLength rule also carry that length, so that binding can reject values
+ * far beyond it.
+ */
+public final class FieldSlots {
+
+    private final Map<String, Integer> slots;
+    private final String[] names;
+    private final int[] maxLengths;
+    private final String[] maxLengthMessages;
+
+    FieldSlots(List<String> names, int[] maxLengths, String[] maxLengthMessages) {
+        this.maxLengths = maxLengths;
+        this.maxLengthMessages = maxLengthMessages;
+        this.names = names.toArray(new String[0]);
+        this.slots = new HashMap<>(names.size() * 2);
+        for (int i = 0; i < this.names.length; i++) {
+            slots.put(this.names[i], i);
+        }
+    }
+
+    /**
+     * Returns the slot of a submission key, or -1 when no rule of the plan reads it.
+     */
+    public int slot(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : -1;
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * The smallest maxLength of the always-active fields with the slot's key, or -1 when there is none.
+     */
+    int maxLength(int slot) {
+        return maxLengths[slot];
+    }
+
+    String maxLengthMessage(int slot) {
+        return maxLengthMessages[slot];
+    }
+}
@@ -0,0 +1,27 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * A single pre-resolved field rule. Returns whether the value passes the rule. Rules reading the value
+ * as a number or date take it from {@code coerced}, which converts each field once per submission.
+ * A failing value is reported with the rule's configured error message, or a default one when the
+ * rule has none.
+ */
+@FunctionalInterface
+public interface FieldValidator {
+    boolean isValid(Object value, CoercedValues coerced);
+
+    /**
+     * The message for a value that failed the rule, when it differs from the rule's error message, or
+     * {@code null} to report the rule's message. Only called after {@link #isValid} returned {@code false}.
+     */
+    default String failureMessage(Object value, CoercedValues coerced) {
+        return null;
+    }
+
+    /**
+     * Relative cost of the rule. When validation may stop early, a field's cheaper rules run first.
+     */
+    default int cost() {
+        return 10;
+    }
+}
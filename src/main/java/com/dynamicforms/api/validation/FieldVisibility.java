@@ -0,0 +1,68 @@
+package com.dynamicforms.api.validation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled visibility of the fields of one form. Fields are numbered in form order; conditional fields are
+ * evaluated in dependency order, so a field whose controlling field is itself inactive sees that value as absent.
+ */
+final class FieldVisibility {
+
+    private final boolean[] staticActive;
+    private final int[] evaluationOrder;
+    private final Condition[][] conditions;
+    private final boolean[] initiallyHidden;
+
+    /**
+     * @param staticActive    activity of every field that has no conditions
+     * @param evaluationOrder indices of the conditional fields, each after the fields it depends on
+     * @param conditions      conditions per field index, {@code null} for unconditional fields
+     * @param initiallyHidden whether a conditional field starts hidden and needs a matching show condition
+     */
+    FieldVisibility(boolean[] staticActive, int[] evaluationOrder, Condition[][] conditions, boolean[] initiallyHidden) {
+        this.staticActive = staticActive;
+        this.evaluationOrder = evaluationOrder;
+        this.conditions = conditions;
+        this.initiallyHidden = initiallyHidden;
+    }
+
+    boolean[] evaluate(SubmissionData data) {
+        boolean[] active = Arrays.copyOf(staticActive, staticActive.length);
+        for (int field : evaluationOrder) {
+            active[field] = isActive(field, data, active);
+        }
+        return active;
+    }
+
+    private boolean isActive(int field, SubmissionData data, boolean[] active) {
+        boolean shown = !initiallyHidden[field];
+        boolean hasShowCondition = false;
+        for (Condition condition : conditions[field]) {
+            boolean holds = condition.holds(data, active);
+            if (condition.show()) {
+                // All show conditions must hold
+                if (!holds) {
+                    return false;
+                }
+                hasShowCondition = true;
+            } else if (holds) {
+                return false;
+            }
+        }
+        return shown || hasShowCondition;
+    }
+
+    /**
+     * One condition of a field. {@code dependencyIndex} is the controlling field's index, or -1 when the
+     * condition refers to a value that is not a field of the form; {@code dependencySlot} is the value's slot.
+     */
+    record Condition(String dependsOn, int dependencyIndex, int dependencySlot, ConditionOperator operator,
+                     Object value, List<Object> values, boolean show) {
+
+        boolean holds(SubmissionData data, boolean[] active) {
+            Object actual = dependencyIndex < 0 || active[dependencyIndex] ? data.get(dependencySlot) : null;
+            return operator.test(actual, value, values);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dynamicforms.api.validation;
+
+public record LengthValidator(int bound, boolean minimum) implements FieldValidator {
+
+    @Override
+    public boolean isValid(Object value, CoercedValues coerced) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.toString().length();
+        return minimum ? length >= bound : length <= bound;
+    }
+
+    @Override
+    public int cost() {
+        return 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dynamicforms.api.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+
+/**
+ * Enforces the size limits of {@link DataLimits} on the tokens of one data object as they are read, including
+ * the tokens of values that are skipped or read by a deserializer.
+ */
+final class LimitedParser extends JsonParserDelegate {
+
+    private final DataLimits limits;
+    // Nesting depth of the parser's context around the data object
+    private final int baseDepth;
+    private final long startOffset;
+    private int keys;
+
+    /**
+     * Starts at the data object's {@code START_OBJECT} token, the parser's current token.
+     */
+    LimitedParser(JsonParser parser, DataLimits limits) {
+        super(parser);
+        this.limits = limits;
+        this.baseDepth = parser.getParsingContext().getNestingDepth() - 1;
+        this.startOffset = limits.maxBytes() < Long.MAX_VALUE ? offset() : 0;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            if (++keys > limits.maxKeys()) {
+                throw new SubmissionRejectedException(SubmissionRejectedException.Reason.TOO_MANY_KEYS, null,
+                        "Data has more than " + limits.maxKeys() + " keys");
+            }
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            if (delegate.getParsingContext().getNestingDepth() - baseDepth > limits.maxDepth()) {
+                throw new SubmissionRejectedException(SubmissionRejectedException.Reason.TOO_DEEP, null,
+                        "Data is nested deeper than " + limits.maxDepth() + " levels");
+            }
+        }
+        if (limits.maxBytes() < Long.MAX_VALUE && offset() - startOffset > limits.maxBytes()) {
+            throw new SubmissionRejectedException(SubmissionRejectedException.Reason.PAYLOAD_TOO_LARGE, null,
+                    "Data exceeds " + limits.maxBytes() + " bytes");
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    // Skipped values count against the limits too
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        if (currentToken() != JsonToken.START_OBJECT && currentToken() != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int open = 1;
+        while (open > 0) {
+            JsonToken token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                open++;
+            } else if (token.isStructEnd()) {
+                open--;
+            }
+        }
+        return this;
+    }
+
+    private long offset() {
+        long offset = delegate.currentLocation().getByteOffset();
+        return offset >= 0 ? offset : delegate.currentLocation().getCharOffset();
+    }
+}
@@ -0,0 +1,159 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Parses numbers the way {@link Double#parseDouble(String)} does, but reports malformed input through the
+ * return value instead of an exception. Short decimal literals, which are what forms submit, are converted
+ * without allocating; anything else that is well-formed is handed to {@code Double.parseDouble}.
+ */
+final class NumberParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Decimal mantissas up to this many digits are exactly representable as a double
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private NumberParser() {
+    }
+
+    /**
+     * Stores the numeric value of {@code value} in {@code out[index]}, or returns {@code false} when it
+     * is not a number. Accepts what {@code Double.parseDouble(value.toString())} accepts.
+     */
+    static boolean parse(Object value, double[] out, int index) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Short || value instanceof Byte) {
+            out[index] = ((Number) value).doubleValue();
+            return true;
+        }
+        if (value instanceof Boolean) {
+            return false;
+        }
+        return parse(value.toString(), out, index);
+    }
+
+    private static boolean parse(String text, double[] out, int index) {
+        int end = text.length();
+        int pos = 0;
+        // Double.parseDouble trims the same characters as String.trim
+        while (pos < end && text.charAt(pos) <= ' ') {
+            pos++;
+        }
+        while (end > pos && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (pos == end) {
+            return false;
+        }
+
+        int start = pos;
+        boolean negative = false;
+        char c = text.charAt(pos);
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            pos++;
+        }
+        if (pos == end) {
+            return false;
+        }
+
+        c = text.charAt(pos);
+        if (c == 'N' || c == 'I') {
+            return parseSpecial(text, pos, end, negative, out, index);
+        }
+        if (c == '0' && pos + 1 < end && (text.charAt(pos + 1) == 'x' || text.charAt(pos + 1) == 'X')) {
+            return parseHex(text.substring(start, end), out, index);
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean exact = true;
+
+        // Once the mantissa has too many digits the value is only validated here and parsed below
+        for (; pos < end && isDigit(c = text.charAt(pos)); pos++, digits++) {
+            if (significantDigits > 0 || c != '0') {
+                exact &= ++significantDigits <= MAX_EXACT_DIGITS;
+                mantissa = mantissa * 10 + (c - '0');
+            }
+        }
+        if (pos < end && text.charAt(pos) == '.') {
+            pos++;
+            for (; pos < end && isDigit(c = text.charAt(pos)); pos++, digits++) {
+                if (significantDigits > 0 || c != '0') {
+                    exact &= ++significantDigits <= MAX_EXACT_DIGITS;
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                scale--;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                negativeExponent = text.charAt(pos) == '-';
+                pos++;
+            }
+            int exponentStart = pos;
+            int exponent = 0;
+            for (; pos < end && isDigit(c = text.charAt(pos)); pos++) {
+                if (exponent < 100_000) {
+                    exponent = exponent * 10 + (c - '0');
+                }
+            }
+            if (pos == exponentStart) {
+                return false;
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        // Java also accepts a float or double type suffix
+        if (pos < end && "fFdD".indexOf(text.charAt(pos)) >= 0) {
+            pos++;
+        }
+        if (pos != end) {
+            return false;
+        }
+
+        if (exact && Math.abs(scale) < POWERS_OF_TEN.length) {
+            double magnitude = scale >= 0 ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+            out[index] = negative ? -magnitude : magnitude;
+            return true;
+        }
+        // Well-formed, but needs correct rounding of a long mantissa or a large exponent
+        out[index] = Double.parseDouble(text.substring(start, end));
+        return true;
+    }
+
+    private static boolean parseSpecial(String text, int pos, int end, boolean negative, double[] out, int index) {
+        if (text.startsWith("NaN", pos) && pos + 3 == end) {
+            out[index] = Double.NaN;
+            return true;
+        }
+        if (text.startsWith("Infinity", pos) && pos + 8 == end) {
+            out[index] = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return true;
+        }
+        return false;
+    }
+
+    // Hexadecimal literals are rare enough not to warrant a parser of their own
+    private static boolean parseHex(String text, double[] out, int index) {
+        try {
+            out[index] = Double.parseDouble(text);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,28 @@
+package com.dynamicforms.api.validation;
+
+public record NumericBoundValidator(int slot, double bound, boolean minimum) implements FieldValidator {
+
+    static final String INVALID_NUMBER = "Invalid number format";
+
+    @Override
+    public boolean isValid(Object value, CoercedValues coerced) {
+        if (value == null) {
+            return true;
+        }
+        if (!coerced.isNumber(slot, value)) {
+            return false;
+        }
+        double numValue = coerced.number(slot);
+        return minimum ? numValue >= bound : numValue <= bound;
+    }
+
+    @Override
+    public String failureMessage(Object value, CoercedValues coerced) {
+        return coerced.isNumber(slot, value) ? null : INVALID_NUMBER;
+    }
+
+    @Override
+    public int cost() {
+        return 2;
+    }
+}
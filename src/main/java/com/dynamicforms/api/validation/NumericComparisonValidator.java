@@ -0,0 +1,54 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+import java.util.Map;
+
+public record NumericComparisonValidator(String firstField, int firstSlot, String secondField, int secondSlot,
+                                         Comparison comparison, String errorField, String errorMessage)
+        implements CrossFieldValidator {
+
+    public enum Comparison {
+        LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL, NONE;
+
+        public static Comparison fromOperator(String operator) {
+            if (operator == null) {
+                return NONE;
+            }
+            return switch (operator) {
+                case "lessThan" -> LESS_THAN;
+                case "lessThanOrEqual" -> LESS_THAN_OR_EQUAL;
+                case "greaterThan" -> GREATER_THAN;
+                case "greaterThanOrEqual" -> GREATER_THAN_OR_EQUAL;
+                default -> NONE;
+            };
+        }
+
+        boolean holds(double value1, double value2) {
+            return switch (this) {
+                case LESS_THAN -> value1 < value2;
+                case LESS_THAN_OR_EQUAL -> value1 <= value2;
+                case GREATER_THAN -> value1 > value2;
+                case GREATER_THAN_OR_EQUAL -> value1 >= value2;
+                case NONE -> true;
+            };
+        }
+    }
+
+    @Override
+    public ValidationError validate(Map<String, Object> data, CoercedValues coerced) {
+        Object value1Obj = SubmissionData.value(data, firstSlot, firstField);
+        Object value2Obj = SubmissionData.value(data, secondSlot, secondField);
+
+        if (value1Obj == null || value2Obj == null) {
+            return null; // Skip if either value is missing
+        }
+
+        if (!coerced.isNumber(firstSlot, value1Obj) || !coerced.isNumber(secondSlot, value2Obj)) {
+            return ValidationErrors.crossField(errorField, NumericBoundValidator.INVALID_NUMBER);
+        }
+
+        return comparison.holds(coerced.number(firstSlot), coerced.number(secondSlot)) ? null
+                : ValidationErrors.crossField(errorField, errorMessage);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dynamicforms.api.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches the whole value against a compiled pattern. When {@code timeoutNanos} is positive the
+ * match is time-boxed, and a value that cannot be matched in time fails the rule.
+ */
+public record PatternValidator(Pattern pattern, long timeoutNanos) implements FieldValidator {
+
+    @Override
+    public boolean isValid(Object value, CoercedValues coerced) {
+        return value == null || matches(value.toString());
+    }
+
+    private boolean matches(String input) {
+        if (timeoutNanos <= 0) {
+            return pattern.matcher(input).matches();
+        }
+        try {
+            return pattern.matcher(new DeadlineCharSequence(input, System.nanoTime() + timeoutNanos)).matches();
+        } catch (DeadlineCharSequence.MatchTimeoutException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.dynamicforms.api.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded cache of compiled regular expressions, shared by every validation plan.
+ * Patterns that are too long or do not compile are rejected up front; matching against
+ * tenant-supplied patterns is time-boxed by {@link #matchTimeoutNanos()}.
+ */
+@Component
+public class RegexCache {
+
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final int maxEntries;
+    private final int maxPatternLength;
+    private final long matchTimeoutNanos;
+
+    public RegexCache(@Value("${dynamicforms.validation.regex.max-entries:1024}") int maxEntries,
+                      @Value("${dynamicforms.validation.regex.max-pattern-length:1000}") int maxPatternLength,
+                      @Value("${dynamicforms.validation.regex.match-timeout-ms:50}") long matchTimeoutMillis) {
+        this.maxEntries = maxEntries;
+        this.maxPatternLength = maxPatternLength;
+        this.matchTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(matchTimeoutMillis);
+    }
+
+    public Pattern compile(String regex) {
+        Pattern pattern = patterns.get(regex);
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+
+        misses.increment();
+        pattern = doCompile(regex);
+        if (patterns.size() >= maxEntries) {
+            evictOne();
+        }
+        Pattern existing = patterns.putIfAbsent(regex, pattern);
+        return existing != null ? existing : pattern;
+    }
+
+    public long matchTimeoutNanos() {
+        return matchTimeoutNanos;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private Pattern doCompile(String regex) {
+        if (regex.length() > maxPatternLength) {
+            throw new IllegalArgumentException(
+                    "Pattern exceeds the maximum length of " + maxPatternLength + " characters");
+        }
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid pattern '" + regex + "': " + e.getDescription(), e);
+        }
+    }
+
+    private void evictOne() {
+        Iterator<String> keys = patterns.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
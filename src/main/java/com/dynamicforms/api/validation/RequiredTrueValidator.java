@@ -0,0 +1,14 @@
+package com.dynamicforms.api.validation;
+
+public record RequiredTrueValidator() implements FieldValidator {
+
+    @Override
+    public boolean isValid(Object value, CoercedValues coerced) {
+        return Boolean.TRUE.equals(value);
+    }
+
+    @Override
+    public int cost() {
+        return 0;
+    }
+}
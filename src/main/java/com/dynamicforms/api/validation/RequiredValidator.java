@@ -0,0 +1,18 @@
+package com.dynamicforms.api.validation;
+
+public record RequiredValidator() implements FieldValidator {
+
+    @Override
+    public boolean isValid(Object value, CoercedValues coerced) {
+        return !isBlank(value);
+    }
+
+    @Override
+    public int cost() {
+        return 0;
+    }
+
+    static boolean isBlank(Object value) {
+        return value == null || value.toString().trim().isEmpty();
+    }
+}
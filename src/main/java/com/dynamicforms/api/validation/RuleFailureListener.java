@@ -0,0 +1,14 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Told about every rule that fails while a {@link ValidationPlan} validates a submission. The rule is
+ * identified by the index of its type in {@link ValidationPlan#getRuleTypes()}.
+ */
+@FunctionalInterface
+public interface RuleFailureListener {
+
+    RuleFailureListener NONE = ruleType -> {
+    };
+
+    void ruleFailed(int ruleType);
+}
@@ -0,0 +1,262 @@
+package com.dynamicforms.api.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Submission data laid out by the {@link FieldSlots} of one plan. Data read from JSON is bound straight into
+ * the slots: keys no rule reads are skipped by the parser, and numbers are kept unboxed until a rule asks for
+ * the value as an object. Data given as a plain map is wrapped and looked up by name instead.
+ * <p>
+ * As a {@link Map} it holds the submitted keys the plan reads, in slot order, with the values untyped JSON
+ * binding would produce. It is read-only.
+ */
+public final class SubmissionData extends AbstractMap<String, Object> {
+
+    private static final byte ABSENT = 0;
+    private static final byte OBJECT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+
+    private static final int EXACT_NUMBER_FEATURES = DeserializationFeature.USE_BIG_INTEGER_FOR_INTS.getMask()
+            | DeserializationFeature.USE_LONG_FOR_INTS.getMask()
+            | DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS.getMask();
+
+    private final FieldSlots slots;
+    // The wrapped map, or null when the data was bound into the slots
+    private final Map<String, Object> source;
+    private final byte[] kinds;
+    // Objects, and numbers once boxed
+    private final Object[] values;
+    // Integral values, or the bits of floating-point values
+    private final long[] numbers;
+    private int size;
+    private int skipped;
+
+    private SubmissionData(FieldSlots slots, Map<String, Object> source) {
+        this.slots = slots;
+        this.source = source;
+        this.kinds = source == null ? new byte[slots.size()] : null;
+        this.values = source == null ? new Object[slots.size()] : null;
+        this.numbers = source == null ? new long[slots.size()] : null;
+    }
+
+    static SubmissionData wrap(FieldSlots slots, Map<String, Object> data) {
+        return new SubmissionData(slots, data);
+    }
+
+    /**
+     * Binds the JSON object at the parser's current token, or returns {@code null} for a JSON null. Values are
+     * read as untyped JSON binding reads them, with {@code valueReader} reading nested objects and arrays, and
+     * numbers too when its configuration asks for big or long numbers. Binding stops with a
+     * {@link SubmissionRejectedException} at the first token breaking the limits.
+     */
+    static SubmissionData read(JsonParser source, FieldSlots slots, ObjectReader valueReader, DataLimits limits)
+            throws IOException {
+        if (source.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (source.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(source, Map.class,
+                    "Form data must be a JSON object, found " + source.currentToken());
+        }
+        boolean exactNumbers = valueReader.getConfig().hasSomeOfFeatures(EXACT_NUMBER_FEATURES);
+        JsonParser parser = limits == DataLimits.NONE ? source : new LimitedParser(source, limits);
+
+        SubmissionData data = new SubmissionData(slots, null);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            int slot = slots.slot(name);
+            JsonToken token = parser.nextToken();
+            if (slot < 0) {
+                if (limits.rejectUnknownFields()) {
+                    throw new SubmissionRejectedException(SubmissionRejectedException.Reason.UNKNOWN_FIELD, name,
+                            "Unknown field");
+                }
+                parser.skipChildren();
+                data.skipped++;
+                continue;
+            }
+
+            switch (token) {
+                case VALUE_STRING -> {
+                    // A value this far beyond the maxLength of an always-active field is certain to fail
+                    if (limits.overlongMargin() >= 0 && slots.maxLength(slot) >= 0
+                            && parser.getTextLength() > (long) slots.maxLength(slot) + limits.overlongMargin()) {
+                        throw new SubmissionRejectedException(SubmissionRejectedException.Reason.VALUE_TOO_LONG,
+                                name, slots.maxLengthMessage(slot));
+                    }
+                    data.setObject(slot, parser.getText());
+                }
+                case VALUE_TRUE -> data.setObject(slot, Boolean.TRUE);
+                case VALUE_FALSE -> data.setObject(slot, Boolean.FALSE);
+                case VALUE_NULL -> data.setObject(slot, null);
+                case VALUE_NUMBER_INT -> {
+                    JsonParser.NumberType type = parser.getNumberType();
+                    if (exactNumbers || type == JsonParser.NumberType.BIG_INTEGER) {
+                        data.setObject(slot, valueReader.readValue(parser));
+                    } else {
+                        data.setNumber(slot, LONG, parser.getLongValue());
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    if (exactNumbers || parser.getNumberType() != JsonParser.NumberType.DOUBLE) {
+                        data.setObject(slot, valueReader.readValue(parser));
+                    } else {
+                        data.setNumber(slot, DOUBLE, Double.doubleToRawLongBits(parser.getDoubleValue()));
+                    }
+                }
+                default -> data.setObject(slot, valueReader.readValue(parser));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Reads a value by slot when the data is bound to the plan's slots, and by name otherwise.
+     */
+    static Object value(Map<String, Object> data, int slot, String name) {
+        return data instanceof SubmissionData bound ? bound.get(slot) : data.get(name);
+    }
+
+    FieldSlots slots() {
+        return slots;
+    }
+
+    boolean isPresent(int slot) {
+        return source != null ? source.containsKey(slots.name(slot)) : kinds[slot] != ABSENT;
+    }
+
+    Object get(int slot) {
+        if (source != null) {
+            return source.get(slots.name(slot));
+        }
+        Object value = values[slot];
+        if (value == null && kinds[slot] >= LONG) {
+            value = kinds[slot] == LONG ? box(numbers[slot]) : Double.longBitsToDouble(numbers[slot]);
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Stores the numeric value of the slot, {@code value}, in {@code out[index]}, or returns {@code false}
+     * when it is not a number. Bound numbers are converted without looking at the boxed value.
+     */
+    boolean number(int slot, Object value, double[] out, int index) {
+        if (kinds != null && kinds[slot] == LONG) {
+            out[index] = numbers[slot];
+            return true;
+        }
+        if (kinds != null && kinds[slot] == DOUBLE) {
+            out[index] = Double.longBitsToDouble(numbers[slot]);
+            return true;
+        }
+        return NumberParser.parse(value, out, index);
+    }
+
+    /**
+     * Number of keys in the submitted object, including those skipped because no rule reads them.
+     */
+    public int getSubmittedFieldCount() {
+        return source != null ? source.size() : size + skipped;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (source != null) {
+            return source.get(key);
+        }
+        int slot = key instanceof String name ? slots.slot(name) : -1;
+        return slot >= 0 ? get(slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (source != null) {
+            return source.containsKey(key);
+        }
+        int slot = key instanceof String name ? slots.slot(name) : -1;
+        return slot >= 0 && kinds[slot] != ABSENT;
+    }
+
+    @Override
+    public int size() {
+        return source != null ? source.size() : size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (source != null) {
+            return source.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < kinds.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int slot = next;
+                        next = advance(slot + 1);
+                        return new SimpleImmutableEntry<>(slots.name(slot), get(slot));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int advance(int slot) {
+        while (slot < kinds.length && kinds[slot] == ABSENT) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private void setObject(int slot, Object value) {
+        if (kinds[slot] == ABSENT) {
+            size++;
+        }
+        kinds[slot] = OBJECT;
+        values[slot] = value;
+    }
+
+    private void setNumber(int slot, byte kind, long bits) {
+        if (kinds[slot] == ABSENT) {
+            size++;
+        }
+        kinds[slot] = kind;
+        values[slot] = null;
+        numbers[slot] = bits;
+    }
+
+    // Untyped binding reads integers as the smallest of Integer and Long that holds them
+    private static Number box(long value) {
+        return value == (int) value ? Integer.valueOf((int) value) : Long.valueOf(value);
+    }
+}
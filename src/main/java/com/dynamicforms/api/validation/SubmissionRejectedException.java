@@ -0,0 +1,38 @@
+package com.dynamicforms.api.validation;
+
+/**
+ * Thrown while binding submission data that breaks its {@link DataLimits}. Parsing stops at the offending token.
+ */
+public class SubmissionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        PAYLOAD_TOO_LARGE, TOO_DEEP, TOO_MANY_KEYS, UNKNOWN_FIELD, VALUE_TOO_LONG;
+
+        /**
+         * Whether the data was rejected for its size rather than for the value of a field.
+         */
+        public boolean isSizeLimit() {
+            return this != UNKNOWN_FIELD && this != VALUE_TOO_LONG;
+        }
+    }
+
+    private final Reason reason;
+    private final String field;
+
+    public SubmissionRejectedException(Reason reason, String field, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+        this.field = field;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * The data key that was rejected, or {@code null} when the data as a whole was.
+     */
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationError;
+
+final class ValidationErrors {
+
+    private ValidationErrors() {
+    }
+
+    static ValidationError field(String field, String message) {
+        return ValidationError.builder()
+                .field(field)
+                .message(message)
+                .validationType("field")
+                .build();
+    }
+
+    static ValidationError crossField(String field, String message) {
+        return ValidationError.builder()
+                .field(field)
+                .message(message)
+                .validationType("cross-field")
+                .build();
+    }
+}
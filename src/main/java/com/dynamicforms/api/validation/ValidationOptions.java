@@ -0,0 +1,35 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.ValidationMode;
+
+/**
+ * How much of a plan to evaluate. Exhaustive validation reports every error in declaration order; the other
+ * modes run each field's cheapest rules first and stop a field at its first error, or the whole submission
+ * once {@code maxErrors} errors have been found.
+ */
+public record ValidationOptions(boolean firstErrorPerField, int maxErrors) {
+
+    public static final ValidationOptions EXHAUSTIVE = new ValidationOptions(false, Integer.MAX_VALUE);
+
+    public ValidationOptions {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1");
+        }
+    }
+
+    /**
+     * @param maxErrors optional error budget on top of the mode; {@code null} for none
+     */
+    public static ValidationOptions of(ValidationMode mode, Integer maxErrors) {
+        int budget = maxErrors != null ? maxErrors : Integer.MAX_VALUE;
+        return switch (mode) {
+            case ALL -> maxErrors == null ? EXHAUSTIVE : new ValidationOptions(false, budget);
+            case FIRST_ERROR_PER_FIELD -> new ValidationOptions(true, budget);
+            case FAIL_FAST -> new ValidationOptions(true, 1);
+        };
+    }
+
+    boolean isExhaustive() {
+        return !firstErrorPerField && maxErrors == Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,158 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.FormLimits;
+import com.dynamicforms.api.model.ValidationError;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable validation plan compiled from a {@link com.dynamicforms.api.model.FormConfig}.
+ * Safe to share between request threads.
+ */
+public final class ValidationPlan {
+
+    private final String formId;
+    // Null when the form sets no limits of its own
+    private final FormLimits limits;
+    private final FieldSlots fieldSlots;
+    private final FieldPlan[] fieldPlans;
+    private final CrossFieldPlan[] crossFieldPlans;
+    // Null when no field of the form has conditions, so every field is always active
+    private final FieldVisibility visibility;
+    private final FieldDependencyIndex dependencyIndex;
+    private final int numberCount;
+    private final int[] numberSlots;
+    private final int dateCount;
+    private final int[] dateSlots;
+    // Distinct rule names of the plan, indexed by the rule types reported to a RuleFailureListener
+    private final List<String> ruleTypes;
+
+    ValidationPlan(String formId, FormLimits limits, FieldSlots fieldSlots, List<FieldPlan> fieldPlans,
+                   List<CrossFieldPlan> crossFieldPlans, FieldVisibility visibility,
+                   FieldDependencyIndex dependencyIndex, int numberCount, int[] numberSlots, int dateCount,
+                   int[] dateSlots, List<String> ruleTypes) {
+        this.formId = formId;
+        this.limits = limits;
+        this.fieldSlots = fieldSlots;
+        this.fieldPlans = fieldPlans.toArray(new FieldPlan[0]);
+        this.crossFieldPlans = crossFieldPlans.toArray(new CrossFieldPlan[0]);
+        this.visibility = visibility;
+        this.dependencyIndex = dependencyIndex;
+        this.numberCount = numberCount;
+        this.numberSlots = numberSlots;
+        this.dateCount = dateCount;
+        this.dateSlots = dateSlots;
+        this.ruleTypes = List.copyOf(ruleTypes);
+    }
+
+    public String getFormId() {
+        return formId;
+    }
+
+    public List<String> getRuleTypes() {
+        return ruleTypes;
+    }
+
+    public FormLimits getLimits() {
+        return limits;
+    }
+
+    public FieldSlots getFieldSlots() {
+        return fieldSlots;
+    }
+
+    /**
+     * Binds the form data at the parser's current token into this plan's slots, skipping the keys no rule
+     * reads. Validating the result avoids building and then searching a map of the whole submission.
+     */
+    public SubmissionData readData(JsonParser parser, ObjectReader valueReader) throws IOException {
+        return SubmissionData.read(parser, fieldSlots, valueReader, DataLimits.NONE);
+    }
+
+    /**
+     * As {@link #readData(JsonParser, ObjectReader)}, rejecting data that breaks the limits as soon as the
+     * offending token is read.
+     *
+     * @throws SubmissionRejectedException when the data breaks a limit
+     */
+    public SubmissionData readData(JsonParser parser, ObjectReader valueReader, DataLimits limits)
+            throws IOException {
+        return SubmissionData.read(parser, fieldSlots, valueReader, limits);
+    }
+
+    /**
+     * Captures the data this plan reads. Data with equal fingerprints validates alike under this plan: keys
+     * no rule reads and the order of the submitted keys are left out.
+     */
+    public DataFingerprint fingerprint(Map<String, Object> data) {
+        return DataFingerprint.of(values(data));
+    }
+
+    public List<ValidationError> validate(Map<String, Object> data) {
+        return validate(data, ValidationOptions.EXHAUSTIVE);
+    }
+
+    public List<ValidationError> validate(Map<String, Object> data, ValidationOptions options) {
+        return validate(data, null, options);
+    }
+
+    /**
+     * Selects the rules affected by a change to the given fields, for
+     * {@link #validate(Map, FieldSelection, ValidationOptions)}.
+     */
+    public FieldSelection select(Collection<String> changedFields) {
+        return dependencyIndex.select(changedFields);
+    }
+
+    /**
+     * Runs the selected rules, or all rules when {@code selection} is {@code null}. For a selection, the errors
+     * are those a full validation reports for the selected fields and the cross-field rules involving them.
+     */
+    public List<ValidationError> validate(Map<String, Object> data, FieldSelection selection, ValidationOptions options) {
+        return validate(data, selection, options, RuleFailureListener.NONE);
+    }
+
+    public List<ValidationError> validate(Map<String, Object> data, FieldSelection selection, ValidationOptions options,
+                                          RuleFailureListener listener) {
+        SubmissionData values = values(data);
+        List<ValidationError> errors = new ArrayList<>();
+        boolean[] active = visibility != null ? visibility.evaluate(values) : null;
+        CoercedValues coerced = numberCount == 0 && dateCount == 0 ? CoercedValues.NONE
+                : new CoercedValues(numberCount, dateCount, numberSlots, dateSlots, values);
+
+        int fieldCount = selection != null ? selection.fieldPlans().length : fieldPlans.length;
+        for (int i = 0; i < fieldCount && errors.size() < options.maxErrors(); i++) {
+            FieldPlan fieldPlan = fieldPlans[selection != null ? selection.fieldPlans()[i] : i];
+            // Rules of hidden fields are not run
+            if (active == null || active[fieldPlan.getFieldIndex()]) {
+                fieldPlan.validate(values.get(fieldPlan.getFieldSlot()), coerced, errors, options, listener);
+            }
+        }
+
+        int crossFieldCount = selection != null ? selection.crossFieldPlans().length : crossFieldPlans.length;
+        for (int i = 0; i < crossFieldCount && errors.size() < options.maxErrors(); i++) {
+            CrossFieldPlan crossFieldPlan = crossFieldPlans[selection != null ? selection.crossFieldPlans()[i] : i];
+            if (active != null && !crossFieldPlan.isActive(active)) {
+                continue;
+            }
+            ValidationError error = crossFieldPlan.getValidator().validate(values, coerced);
+            if (error != null) {
+                errors.add(error);
+                listener.ruleFailed(crossFieldPlan.getRuleType());
+            }
+        }
+        return errors;
+    }
+
+    private SubmissionData values(Map<String, Object> data) {
+        return data instanceof SubmissionData bound && bound.slots() == fieldSlots ? bound
+                : SubmissionData.wrap(fieldSlots, data != null ? data : Collections.emptyMap());
+    }
+}
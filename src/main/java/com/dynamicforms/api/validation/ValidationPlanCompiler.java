@@ -0,0 +1,394 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.CrossFieldValidation;
+import com.dynamicforms.api.model.FieldCondition;
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.FormLimits;
+import com.dynamicforms.api.model.ValidationRule;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Turns a {@link FormConfig} into a {@link ValidationPlan}. Rule names, rule values and error fields
+ * are resolved here once, so validating a submission never dispatches on strings or casts rule values.
+ * Field conditions are resolved into a dependency-ordered {@link FieldVisibility}, so only the rules
+ * of fields that are visible for a submission run. Other rule names are resolved to a custom
+ * {@link Validator} from the {@link ValidatorRegistry}, or ignored when none is registered. Every submission
+ * key the plan reads gets a slot in its {@link FieldSlots}, and rules read values by slot.
+ */
+@Component
+public class ValidationPlanCompiler {
+
+    static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+
+    static final Set<String> BUILT_IN_RULES = Set.of("required", "requiredTrue", "minLength", "maxLength",
+            "min", "max", "email", "pattern", "fieldMatch", "dateRange", "numericComparison", "conditionalRequired");
+
+    private final RegexCache regexCache;
+    private final ValidatorRegistry validatorRegistry;
+
+    public ValidationPlanCompiler(RegexCache regexCache, ValidatorRegistry validatorRegistry) {
+        this.regexCache = regexCache;
+        this.validatorRegistry = validatorRegistry;
+    }
+
+    public ValidationPlan compile(FormConfig formConfig) {
+        List<FormField> fields = formConfig.getFields() != null ? formConfig.getFields() : List.of();
+        Map<String, Integer> fieldIndexes = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            fieldIndexes.putIfAbsent(fields.get(i).getName(), i);
+        }
+
+        checkLimits(formConfig.getLimits());
+        Slots slots = new Slots();
+        for (FormField field : fields) {
+            slots.field(field.getName());
+            boolean alwaysActive = field.getConditions() == null || field.getConditions().isEmpty();
+            if (alwaysActive && field.getValidations() != null) {
+                for (ValidationRule rule : field.getValidations()) {
+                    if ("maxLength".equals(rule.getName())
+                            && rule.getValue() instanceof Number length && length.intValue() >= 0) {
+                        slots.maxLength(field.getName(), length.intValue(), errorMessage(field.getName(), rule));
+                    }
+                }
+            }
+        }
+        RuleTypes ruleTypes = new RuleTypes();
+        List<FieldPlan> fieldPlans = new ArrayList<>();
+        int[] fieldPlanByField = new int[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            FieldPlan fieldPlan = compileFieldPlan(fields.get(i), i, slots, ruleTypes);
+            fieldPlanByField[i] = fieldPlan == null ? -1 : fieldPlans.size();
+            if (fieldPlan != null) {
+                fieldPlans.add(fieldPlan);
+            }
+        }
+
+        List<CrossFieldPlan> crossFieldPlans = new ArrayList<>();
+        List<List<String>> crossFieldNames = new ArrayList<>();
+        if (formConfig.getCrossFieldValidations() != null) {
+            for (CrossFieldValidation validation : formConfig.getCrossFieldValidations()) {
+                CrossFieldValidator validator = compileCrossField(validation, slots);
+                if (validator != null) {
+                    validation.getFields().forEach(slots::field);
+                    int[] involved = validation.getFields().stream()
+                            .map(fieldIndexes::get)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+                    crossFieldPlans.add(new CrossFieldPlan(validator, involved,
+                            ruleTypes.id(validation.getValidationType())));
+                    crossFieldNames.add(validation.getFields());
+                }
+            }
+        }
+
+        FieldVisibility visibility = compileVisibility(fields, fieldIndexes, slots);
+        FieldDependencyIndex dependencyIndex = FieldDependencyIndex.build(fields, fieldIndexes, fieldPlanByField,
+                crossFieldNames);
+        return new ValidationPlan(formConfig.getFormId(), formConfig.getLimits(), slots.fieldSlots(), fieldPlans,
+                crossFieldPlans, visibility, dependencyIndex, slots.numbers.size(), slots.coercionSlots(slots.numbers),
+                slots.dates.size(), slots.coercionSlots(slots.dates), ruleTypes.names);
+    }
+
+    /**
+     * Compiles field conditions into a {@link FieldVisibility}, or returns {@code null} when every field
+     * is always active. Circular conditions and unsupported operators or actions are rejected.
+     */
+    private static FieldVisibility compileVisibility(List<FormField> fields, Map<String, Integer> fieldIndexes,
+                                                     Slots slots) {
+        int count = fields.size();
+        boolean[] staticActive = new boolean[count];
+        boolean[] initiallyHidden = new boolean[count];
+        FieldVisibility.Condition[][] conditions = new FieldVisibility.Condition[count][];
+        boolean allActive = true;
+
+        for (int i = 0; i < count; i++) {
+            FormField field = fields.get(i);
+            initiallyHidden[i] = Boolean.TRUE.equals(field.getHidden());
+            if (field.getConditions() == null || field.getConditions().isEmpty()) {
+                // Only conditions make a field inactive; a hidden input without them is filled in by a script
+                staticActive[i] = true;
+            } else {
+                conditions[i] = field.getConditions().stream()
+                        .map(condition -> compileCondition(field.getName(), condition, fieldIndexes, slots))
+                        .toArray(FieldVisibility.Condition[]::new);
+            }
+            allActive &= staticActive[i];
+        }
+
+        return allActive ? null
+                : new FieldVisibility(staticActive, evaluationOrder(fields, conditions), conditions, initiallyHidden);
+    }
+
+    private static FieldVisibility.Condition compileCondition(String fieldName, FieldCondition condition,
+                                                              Map<String, Integer> fieldIndexes, Slots slots) {
+        ConditionOperator operator = ConditionOperator.fromName(condition.getOperator());
+        if (operator == null || condition.getDependsOn() == null) {
+            throw new IllegalArgumentException("Invalid condition on field '" + fieldName + "': dependsOn '"
+                    + condition.getDependsOn() + "', operator '" + condition.getOperator() + "'");
+        }
+
+        boolean show = condition.getAction() == null || "show".equals(condition.getAction());
+        if (!show && !"hide".equals(condition.getAction())) {
+            throw new IllegalArgumentException(
+                    "Invalid action '" + condition.getAction() + "' in condition on field '" + fieldName + "'");
+        }
+
+        return new FieldVisibility.Condition(condition.getDependsOn(),
+                fieldIndexes.getOrDefault(condition.getDependsOn(), -1), slots.field(condition.getDependsOn()),
+                operator, condition.getValue(), condition.getValues() != null ? condition.getValues() : List.of(), show);
+    }
+
+    /**
+     * Orders the conditional fields so that each comes after the conditional fields it depends on.
+     */
+    private static int[] evaluationOrder(List<FormField> fields, FieldVisibility.Condition[][] conditions) {
+        int count = conditions.length;
+        int[] unresolved = new int[count];
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<>());
+        }
+
+        int conditional = 0;
+        for (int i = 0; i < count; i++) {
+            if (conditions[i] == null) {
+                continue;
+            }
+            conditional++;
+            for (FieldVisibility.Condition condition : conditions[i]) {
+                int dependency = condition.dependencyIndex();
+                if (dependency >= 0 && conditions[dependency] != null) {
+                    unresolved[i]++;
+                    dependents.get(dependency).add(i);
+                }
+            }
+        }
+
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            if (conditions[i] != null && unresolved[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        int[] order = new int[conditional];
+        int ordered = 0;
+        while (!ready.isEmpty()) {
+            int field = ready.poll();
+            order[ordered++] = field;
+            for (int dependent : dependents.get(field)) {
+                if (--unresolved[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (ordered < conditional) {
+            List<String> cycle = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (unresolved[i] > 0) {
+                    cycle.add(fields.get(i).getName());
+                }
+            }
+            throw new IllegalArgumentException("Circular conditions between fields " + cycle);
+        }
+        return order;
+    }
+
+    private FieldPlan compileFieldPlan(FormField field, int fieldIndex, Slots slots, RuleTypes ruleTypes) {
+        if (field.getValidations() == null) {
+            return null;
+        }
+
+        List<FieldValidator> validators = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        for (ValidationRule rule : field.getValidations()) {
+            FieldValidator validator = compileRule(field.getName(), rule, slots);
+            if (validator != null) {
+                validators.add(validator);
+                messages.add(errorMessage(field.getName(), rule));
+                types.add(ruleTypes.id(rule.getName()));
+            }
+        }
+        return validators.isEmpty() ? null : new FieldPlan(field.getName(), fieldIndex, slots.field(field.getName()),
+                validators, messages, types.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private FieldValidator compileRule(String fieldName, ValidationRule rule, Slots slots) {
+        if (rule.getName() == null) {
+            return null;
+        }
+
+        boolean enabled = Boolean.TRUE.equals(rule.getValue());
+
+        // Rules that can never fail are dropped from the plan entirely
+        return switch (rule.getName()) {
+            case "required" -> enabled ? new RequiredValidator() : null;
+            case "requiredTrue" -> enabled ? new RequiredTrueValidator() : null;
+            case "minLength" -> new LengthValidator(intValue(fieldName, rule), true);
+            case "maxLength" -> new LengthValidator(intValue(fieldName, rule), false);
+            case "min" -> new NumericBoundValidator(slots.number(fieldName), doubleValue(fieldName, rule), true);
+            case "max" -> new NumericBoundValidator(slots.number(fieldName), doubleValue(fieldName, rule), false);
+            // The built-in email pattern is trusted; tenant-supplied patterns are time-boxed
+            case "email" -> enabled ? new PatternValidator(regexCache.compile(EMAIL_REGEX), 0) : null;
+            case "pattern" -> new PatternValidator(regexCache.compile(stringValue(fieldName, rule)),
+                    regexCache.matchTimeoutNanos());
+            default -> {
+                Validator custom = validatorRegistry.find(rule.getName());
+                yield custom != null ? custom.compileFieldRule(fieldName, rule) : null;
+            }
+        };
+    }
+
+    private CrossFieldValidator compileCrossField(CrossFieldValidation validation, Slots slots) {
+        List<String> fields = validation.getFields();
+
+        if (fields == null || fields.size() < 2 || validation.getValidationType() == null) {
+            return null;
+        }
+
+        String first = fields.get(0);
+        String second = fields.get(1);
+        String errorField = validation.getErrorField() != null ? validation.getErrorField() : second;
+        String message = validation.getErrorMessage();
+
+        return switch (validation.getValidationType()) {
+            case "fieldMatch" -> new FieldMatchValidator(first, slots.field(first), second, slots.field(second),
+                    errorField, message);
+            case "dateRange" -> new DateRangeValidator(first, slots.date(first), second, slots.date(second),
+                    "lessThan".equals(validation.getOperator()), errorField, message);
+            case "numericComparison" -> new NumericComparisonValidator(first, slots.number(first),
+                    second, slots.number(second),
+                    NumericComparisonValidator.Comparison.fromOperator(validation.getOperator()), errorField, message);
+            case "conditionalRequired" -> new ConditionalRequiredValidator(first, slots.field(first),
+                    second, slots.field(second), errorField, message);
+            default -> {
+                Validator custom = validatorRegistry.find(validation.getValidationType());
+                yield custom != null ? custom.compileCrossFieldRule(validation, errorField) : null;
+            }
+        };
+    }
+
+    private static void checkLimits(FormLimits limits) {
+        if (limits == null) {
+            return;
+        }
+        if (isBelow(limits.getMaxPayloadBytes(), 1) || isBelow(limits.getMaxDepth(), 1)
+                || isBelow(limits.getMaxKeys(), 0) || isBelow(limits.getOverlongMargin(), -1)) {
+            throw new IllegalArgumentException("Invalid form limits " + limits);
+        }
+    }
+
+    private static boolean isBelow(Integer value, int minimum) {
+        return value != null && value < minimum;
+    }
+
+    // Messages are optional in stored schemas; a failing rule is still reported
+    private static String errorMessage(String fieldName, ValidationRule rule) {
+        return rule.getErrorMessage() != null ? rule.getErrorMessage() : fieldName + " failed " + rule.getName();
+    }
+
+    private static int intValue(String fieldName, ValidationRule rule) {
+        if (rule.getValue() instanceof Number number) {
+            return number.intValue();
+        }
+        throw invalidRuleValue(fieldName, rule);
+    }
+
+    private static double doubleValue(String fieldName, ValidationRule rule) {
+        if (rule.getValue() instanceof Number number) {
+            return number.doubleValue();
+        }
+        throw invalidRuleValue(fieldName, rule);
+    }
+
+    private static String stringValue(String fieldName, ValidationRule rule) {
+        if (rule.getValue() == null) {
+            throw invalidRuleValue(fieldName, rule);
+        }
+        return rule.getValue().toString();
+    }
+
+    /**
+     * Slots of the submission keys a plan reads, and coercion slots of the fields read as numbers or dates,
+     * shared by all rules of a plan reading the same field. Rules are given field slots.
+     */
+    private static final class Slots {
+
+        private final Map<String, Integer> fields = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final Map<Integer, Integer> numbers = new HashMap<>();
+        private final Map<Integer, Integer> dates = new HashMap<>();
+        private final Map<Integer, Integer> maxLengths = new HashMap<>();
+        private final Map<Integer, String> maxLengthMessages = new HashMap<>();
+
+        int field(String name) {
+            return fields.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+
+        int number(String fieldName) {
+            int slot = field(fieldName);
+            numbers.computeIfAbsent(slot, key -> numbers.size());
+            return slot;
+        }
+
+        int date(String fieldName) {
+            int slot = field(fieldName);
+            dates.computeIfAbsent(slot, key -> dates.size());
+            return slot;
+        }
+
+        void maxLength(String fieldName, int length, String message) {
+            int slot = field(fieldName);
+            if (length < maxLengths.getOrDefault(slot, Integer.MAX_VALUE)) {
+                maxLengths.put(slot, length);
+                maxLengthMessages.put(slot, message);
+            }
+        }
+
+        FieldSlots fieldSlots() {
+            int[] lengths = new int[names.size()];
+            String[] messages = new String[names.size()];
+            Arrays.fill(lengths, -1);
+            maxLengths.forEach((slot, length) -> lengths[slot] = length);
+            maxLengthMessages.forEach((slot, message) -> messages[slot] = message);
+            return new FieldSlots(names, lengths, messages);
+        }
+
+        int[] coercionSlots(Map<Integer, Integer> coerced) {
+            int[] slots = new int[names.size()];
+            Arrays.fill(slots, -1);
+            coerced.forEach((field, slot) -> slots[field] = slot);
+            return slots;
+        }
+    }
+
+    /**
+     * The distinct rule names used by a plan, numbered in order of first use.
+     */
+    private static final class RuleTypes {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        int id(String name) {
+            return ids.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    private static IllegalArgumentException invalidRuleValue(String fieldName, ValidationRule rule) {
+        return new IllegalArgumentException(
+                "Invalid value '" + rule.getValue() + "' for rule '" + rule.getName() + "' on field '" + fieldName + "'");
+    }
+}
@@ -0,0 +1,34 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.CrossFieldValidation;
+import com.dynamicforms.api.model.ValidationRule;
+
+/**
+ * Extension point for custom rule types. Implementations are picked up as Spring beans or through
+ * {@link java.util.ServiceLoader} and are called while a plan is compiled, never per submission:
+ * the returned {@link FieldValidator} or {@link CrossFieldValidator} becomes part of the plan.
+ */
+public interface Validator {
+
+    /**
+     * The rule name, matched against {@link ValidationRule#getName()} and
+     * {@link CrossFieldValidation#getValidationType()}. Built-in rule names cannot be replaced.
+     */
+    String getName();
+
+    /**
+     * Compiles a field rule with this name, or returns {@code null} when the rule never fails.
+     * An {@link IllegalArgumentException} rejects the rule, for example when its value is invalid.
+     */
+    default FieldValidator compileFieldRule(String fieldName, ValidationRule rule) {
+        return null;
+    }
+
+    /**
+     * Compiles a cross-field validation of this type, or returns {@code null} when it never fails.
+     * Errors should be reported on {@code errorField} with validation type {@code "cross-field"}.
+     */
+    default CrossFieldValidator compileCrossFieldRule(CrossFieldValidation validation, String errorField) {
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dynamicforms.api.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Custom {@link Validator}s by rule name: the Spring beans, followed by the implementations listed in
+ * {@code META-INF/services/com.dynamicforms.api.validation.Validator} whose class is not already a bean.
+ * A rule name may only be registered once.
+ */
+@Component
+public class ValidatorRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidatorRegistry.class);
+
+    private final Map<String, Validator> validators = new HashMap<>();
+
+    public ValidatorRegistry(List<Validator> beans) {
+        Set<Class<?>> registered = new HashSet<>();
+        for (Validator validator : beans) {
+            register(validator);
+            registered.add(validator.getClass());
+        }
+        for (Validator validator : ServiceLoader.load(Validator.class, Validator.class.getClassLoader())) {
+            if (registered.add(validator.getClass())) {
+                register(validator);
+            }
+        }
+
+        if (!validators.isEmpty()) {
+            log.info("Registered custom validators {}", new TreeSet<>(validators.keySet()));
+        }
+    }
+
+    public Validator find(String name) {
+        return validators.get(name);
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(validators.keySet());
+    }
+
+    private void register(Validator validator) {
+        String name = validator.getName();
+        if (name == null || ValidationPlanCompiler.BUILT_IN_RULES.contains(name)) {
+            throw new IllegalStateException(
+                    "Validator " + validator.getClass().getName() + " cannot use the rule name '" + name + "'");
+        }
+
+        Validator existing = validators.putIfAbsent(name, validator);
+        if (existing != null) {
+            throw new IllegalStateException("Rule name '" + name + "' is registered by both "
+                    + existing.getClass().getName() + " and " + validator.getClass().getName());
+        }
+    }
+}
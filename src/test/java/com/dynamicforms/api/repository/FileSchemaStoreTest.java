@@ -0,0 +1,246 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormSchema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSchemaStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornWriteIsCutOffAndLaterWritesAreRejected() throws IOException {
+        FaultyStore store = new FaultyStore();
+        store.load();
+        store.save(schema("a")).join();
+        long committed = walSize();
+
+        store.tearNextWrite = true;
+        assertThatThrownBy(() -> store.save(schema("b")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(walSize()).isEqualTo(committed);
+
+        assertThatThrownBy(() -> store.save(schema("c")).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.delete("a").join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(store.needsCompaction()).isFalse();
+        store.close();
+
+        assertThat(ids(reopen())).containsExactly("a");
+    }
+
+    @Test
+    void writesAfterRecoveringFromTornTailSurviveRestart() throws IOException {
+        FileSchemaStore store = store();
+        store.load();
+        store.save(schema("a")).join();
+        store.save(schema("b")).join();
+        store.close();
+
+        // A crash in the middle of appending a record
+        try (FileChannel channel = FileChannel.open(wal(), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 1, 0, 42, 42}));
+        }
+
+        FileSchemaStore recovered = store();
+        assertThat(ids(recovered.load())).containsExactlyInAnyOrder("a", "b");
+        recovered.save(schema("c")).join();
+        recovered.delete("a").join();
+        recovered.close();
+
+        assertThat(ids(reopen())).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void failedRotationRejectsLaterWrites() throws IOException {
+        FaultyStore store = new FaultyStore();
+        store.load();
+        store.save(schema("a")).join();
+
+        store.failNextOpen = true;
+        store.compact(List.of(schema("a")));
+
+        assertThatThrownBy(() -> store.save(schema("b")).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        store.close();
+
+        assertThat(ids(reopen())).containsExactly("a");
+    }
+
+    private FileSchemaStore store() {
+        return new FileSchemaStore(directory, objectMapper, true, Long.MAX_VALUE);
+    }
+
+    private Collection<FormSchema> reopen() {
+        FileSchemaStore store = store();
+        try {
+            return store.load();
+        } finally {
+            store.close();
+        }
+    }
+
+    private Path wal() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+        }
+    }
+
+    private long walSize() throws IOException {
+        return Files.size(wal());
+    }
+
+    private static List<String> ids(Collection<FormSchema> schemas) {
+        return schemas.stream().map(FormSchema::getSchemaId).toList();
+    }
+
+    private static FormSchema schema(String schemaId) {
+        return FormSchema.builder().schemaId(schemaId).schemaName("form " + schemaId).revision(1).build();
+    }
+
+    private class FaultyStore extends FileSchemaStore {
+
+        volatile boolean tearNextWrite;
+        volatile boolean failNextOpen;
+
+        FaultyStore() {
+            super(directory, objectMapper, true, Long.MAX_VALUE);
+        }
+
+        @Override
+        FileChannel openWal(Path file) throws IOException {
+            if (failNextOpen) {
+                failNextOpen = false;
+                throw new IOException("No space left on device");
+            }
+            return new TearingChannel(super.openWal(file));
+        }
+
+        // Writes the first half of a gathering write, then fails
+        private class TearingChannel extends FileChannel {
+
+            private final FileChannel delegate;
+
+            TearingChannel(FileChannel delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                if (tearNextWrite) {
+                    tearNextWrite = false;
+                    ByteBuffer first = srcs[offset].duplicate();
+                    first.limit(first.position() + first.remaining() / 2);
+                    delegate.write(first);
+                    throw new IOException("Input/output error");
+                }
+                return delegate.write(srcs, offset, length);
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                return delegate.read(dst);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return delegate.read(dsts, offset, length);
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                return delegate.write(src);
+            }
+
+            @Override
+            public long position() throws IOException {
+                return delegate.position();
+            }
+
+            @Override
+            public FileChannel position(long newPosition) throws IOException {
+                delegate.position(newPosition);
+                return this;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return delegate.size();
+            }
+
+            @Override
+            public FileChannel truncate(long size) throws IOException {
+                delegate.truncate(size);
+                return this;
+            }
+
+            @Override
+            public void force(boolean metaData) throws IOException {
+                delegate.force(metaData);
+            }
+
+            @Override
+            public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                return delegate.transferTo(position, count, target);
+            }
+
+            @Override
+            public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+                return delegate.transferFrom(src, position, count);
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return delegate.read(dst, position);
+            }
+
+            @Override
+            public int write(ByteBuffer src, long position) throws IOException {
+                return delegate.write(src, position);
+            }
+
+            @Override
+            public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+                return delegate.map(mode, position, size);
+            }
+
+            @Override
+            public FileLock lock(long position, long size, boolean shared) throws IOException {
+                return delegate.lock(position, size, shared);
+            }
+
+            @Override
+            public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+                return delegate.tryLock(position, size, shared);
+            }
+
+            @Override
+            protected void implCloseChannel() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.dynamicforms.api.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdBitmapTest {
+
+    private static final int CHUNK = 1 << 16;
+    private static final int ARRAY_MAX = 4096;
+
+    @Test
+    void chunkTurnsIntoBitmapAndBackAtArrayLimit() {
+        IdBitmap bitmap = new IdBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i <= ARRAY_MAX; i++) {
+            assertThat(bitmap.add(i * 7)).isTrue();
+            expected.set(i * 7);
+        }
+        assertThat(bitmap.add(7)).isFalse();
+        assertSame(bitmap, expected);
+
+        for (int i = ARRAY_MAX; i >= 0; i -= 2) {
+            assertThat(bitmap.remove(i * 7)).isTrue();
+            expected.clear(i * 7);
+            if (expected.cardinality() >= ARRAY_MAX - 1) {
+                assertSame(bitmap, expected);
+            }
+        }
+        assertSame(bitmap, expected);
+        assertThat(bitmap.remove(0)).isFalse();
+    }
+
+    @Test
+    void removingLastIdOfChunkDropsIt() {
+        IdBitmap bitmap = new IdBitmap();
+        bitmap.add(5);
+        bitmap.add(CHUNK + 5);
+        bitmap.add(3 * CHUNK);
+
+        bitmap.remove(CHUNK + 5);
+        bitmap.remove(5);
+
+        assertThat(ids(bitmap)).containsExactly(3 * CHUNK);
+        bitmap.remove(3 * CHUNK);
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.cardinality()).isZero();
+    }
+
+    @Test
+    void iteratesInAscendingOrderAcrossChunks() {
+        IdBitmap bitmap = new IdBitmap();
+        int[] added = {3 * CHUNK + 1, 17, CHUNK - 1, CHUNK, 0, 2 * CHUNK + 65535};
+        for (int id : added) {
+            bitmap.add(id);
+        }
+
+        assertThat(ids(bitmap)).containsExactly(0, 17, CHUNK - 1, CHUNK, 2 * CHUNK + 65535, 3 * CHUNK + 1);
+    }
+
+    @Test
+    void setOperationsAgreeWithBitSet() {
+        Random random = new Random(42);
+        // Per chunk: empty, sparse (array) or dense (bitmap), in every combination across the two operands
+        int[] densities = {0, 40, 3000, 4096, 5000, 40000};
+        for (int a = 0; a < densities.length; a++) {
+            for (int b = 0; b < densities.length; b++) {
+                BitSet left = new BitSet();
+                BitSet right = new BitSet();
+                IdBitmap leftBitmap = random(random, left, densities[a], densities[b]);
+                IdBitmap rightBitmap = random(random, right, densities[b], densities[a]);
+
+                BitSet and = (BitSet) left.clone();
+                and.and(right);
+                assertSame(leftBitmap.and(rightBitmap), and);
+                assertThat(leftBitmap.andCardinality(rightBitmap)).isEqualTo(and.cardinality());
+
+                BitSet andNot = (BitSet) left.clone();
+                andNot.andNot(right);
+                assertSame(leftBitmap.andNot(rightBitmap), andNot);
+
+                BitSet or = (BitSet) left.clone();
+                or.or(right);
+                IdBitmap union = leftBitmap.and(leftBitmap);
+                union.addAll(rightBitmap);
+                assertSame(union, or);
+
+                // The operands are left unchanged
+                assertSame(leftBitmap, left);
+                assertSame(rightBitmap, right);
+            }
+        }
+    }
+
+    @Test
+    void randomUpdatesAgreeWithBitSet() {
+        Random random = new Random(7);
+        IdBitmap bitmap = new IdBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 200_000; i++) {
+            // Mostly within two chunks, so that both reach and leave the array limit
+            int id = random.nextInt(2 * CHUNK) / (random.nextBoolean() ? 1 : 8);
+            if (random.nextInt(3) == 0) {
+                assertThat(bitmap.remove(id)).isEqualTo(expected.get(id));
+                expected.clear(id);
+            } else {
+                assertThat(bitmap.add(id)).isEqualTo(!expected.get(id));
+                expected.set(id);
+            }
+        }
+        assertSame(bitmap, expected);
+    }
+
+    @Test
+    void readOnlyViewRejectsChanges() {
+        IdBitmap bitmap = new IdBitmap();
+        bitmap.add(1);
+        IdBitmap view = bitmap.readOnly();
+
+        assertThatThrownBy(() -> view.add(2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.remove(1)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.addAll(bitmap)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> IdBitmap.EMPTY.add(1)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(ids(view)).containsExactly(1);
+        assertThat(IdBitmap.EMPTY.isEmpty()).isTrue();
+
+        // Results built from a view are writable
+        IdBitmap result = view.andNot(IdBitmap.EMPTY);
+        result.add(2);
+        assertThat(ids(result)).containsExactly(1, 2);
+        assertThat(ids(bitmap)).containsExactly(1);
+    }
+
+    // Ids in chunks 0 to 2, with the given number of ids in chunk 0 and chunk 2 and a few in chunk 1
+    private static IdBitmap random(Random random, BitSet expected, int first, int last) {
+        IdBitmap bitmap = new IdBitmap();
+        addRandom(random, bitmap, expected, 0, first);
+        addRandom(random, bitmap, expected, CHUNK, 10);
+        addRandom(random, bitmap, expected, 2 * CHUNK, last);
+        return bitmap;
+    }
+
+    private static void addRandom(Random random, IdBitmap bitmap, BitSet expected, int base, int count) {
+        int added = 0;
+        while (added < count) {
+            int id = base + random.nextInt(CHUNK);
+            if (bitmap.add(id)) {
+                expected.set(id);
+                added++;
+            }
+        }
+    }
+
+    private static void assertSame(IdBitmap bitmap, BitSet expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(bitmap.isEmpty()).isEqualTo(expected.isEmpty());
+        assertThat(ids(bitmap).stream().mapToInt(Integer::intValue).toArray()).isEqualTo(expected.stream().toArray());
+        int wrong = 0;
+        for (int id = 0; id <= expected.length(); id++) {
+            if (bitmap.contains(id) != expected.get(id)) {
+                wrong++;
+            }
+        }
+        assertThat(wrong).as("ids whose membership differs").isZero();
+    }
+
+    private static List<Integer> ids(IdBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,262 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.FormSchema;
+import com.dynamicforms.api.model.SchemaPage;
+import com.dynamicforms.api.model.SchemaQuery;
+import com.dynamicforms.api.model.SchemaSearchHit;
+import com.dynamicforms.api.model.ValidationRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaRepositoryTest {
+
+    private final ControlledStore store = new ControlledStore();
+    private final SchemaRepository repository = new SchemaRepository(event -> { }, store, 10);
+
+    @Test
+    void failedSaveLeavesPreviousRevisionVisible() {
+        repository.save(schema("draft"));
+        store.failing = true;
+
+        assertThatThrownBy(() -> repository.save(schema("published")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findById("s1")).get()
+                .extracting(FormSchema::getRevision, FormSchema::getStatus)
+                .containsExactly(1L, "draft");
+        assertThat(repository.findByStatus("published")).isEmpty();
+        assertThat(repository.findByStatus("draft")).hasSize(1);
+        assertThat(repository.findHistory("s1")).hasSize(1);
+    }
+
+    @Test
+    void failedCreateIsNeverVisible() {
+        store.failing = true;
+
+        assertThatThrownBy(() -> repository.save(schema("draft"))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findById("s1")).isEmpty();
+        assertThat(repository.findByStatus("draft")).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void failedDeleteKeepsSchema() {
+        repository.save(schema("draft"));
+        repository.save(schema("published"));
+        store.failing = true;
+
+        assertThatThrownBy(() -> repository.deleteById("s1")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findById("s1")).get().extracting(FormSchema::getRevision).isEqualTo(2L);
+        assertThat(repository.findByStatus("published")).hasSize(1);
+        assertThat(repository.findRevision("s1", 1)).isPresent();
+    }
+
+    @Test
+    void writeBecomesVisibleOnceDurable() throws Exception {
+        repository.save(schema("draft"));
+        store.manual = true;
+
+        CompletableFuture<FormSchema> saving = CompletableFuture.supplyAsync(() -> repository.save(schema("published")));
+        CompletableFuture<Void> durable = store.awaitWrite();
+
+        assertThat(repository.findById("s1")).get().extracting(FormSchema::getStatus).isEqualTo("draft");
+        assertThat(repository.findByStatus("published")).isEmpty();
+
+        durable.complete(null);
+        assertThat(saving.get(5, TimeUnit.SECONDS).getRevision()).isEqualTo(2);
+        assertThat(repository.findById("s1")).get().extracting(FormSchema::getStatus).isEqualTo("published");
+        assertThat(repository.findByStatus("draft")).isEmpty();
+    }
+
+    @Test
+    void conditionalSaveAfterPendingWriteSeesItsRevision() throws Exception {
+        repository.save(schema("draft"));
+        store.manual = true;
+
+        CompletableFuture<FormSchema> first = CompletableFuture.supplyAsync(() -> repository.save(schema("review")));
+        CompletableFuture<Void> durable = store.awaitWrite();
+        CompletableFuture<Boolean> conditional = CompletableFuture.supplyAsync(
+                () -> repository.saveIfRevision(schema("published"), 1).isPresent());
+
+        durable.complete(null);
+        first.get(5, TimeUnit.SECONDS);
+        // Revision 1 was superseded by the pending write, so the conditional save is rejected
+        assertThat(conditional.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(repository.findById("s1")).get().extracting(FormSchema::getRevision).isEqualTo(2L);
+    }
+
+    @Test
+    void savedSnapshotSharesNoConfigWithCaller() {
+        List<Integer> rows = new ArrayList<>(List.of(3));
+        Map<String, Object> attributes = new HashMap<>(Map.of("rows", rows));
+        FormField field = FormField.builder()
+                .name("message")
+                .validations(new ArrayList<>(List.of(ValidationRule.builder().name("required").value(true).build())))
+                .attributes(attributes)
+                .build();
+        FormConfig config = FormConfig.builder().formId("contact").fields(new ArrayList<>(List.of(field))).build();
+        List<String> tags = new ArrayList<>(List.of("crm"));
+        repository.save(schema("draft").toBuilder().formConfig(config).tags(tags).build());
+
+        field.setName("changed");
+        field.getValidations().get(0).setValue(false);
+        rows.add(4);
+        attributes.put("cols", 40);
+        config.getFields().add(FormField.builder().name("extra").build());
+        tags.add("changed");
+
+        FormSchema stored = repository.findById("s1").orElseThrow();
+        assertThat(stored.getFormConfig().getFields()).hasSize(1);
+        FormField storedField = stored.getFormConfig().getFields().get(0);
+        assertThat(storedField.getName()).isEqualTo("message");
+        assertThat(storedField.getValidations().get(0).getValue()).isEqualTo(true);
+        assertThat(storedField.getAttributes()).isEqualTo(Map.of("rows", List.of(3)));
+        assertThat(stored.getTags()).containsExactly("crm");
+    }
+
+    @Test
+    void searchPagesFollowTheRankingWithoutRepeats() {
+        saveInvoices(30);
+        List<String> ranking = searchAll("invoice");
+        assertThat(ranking).hasSize(30).doesNotHaveDuplicates();
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            SchemaPage<SchemaSearchHit<FormSchema>> page = repository.search("invoice",
+                    SchemaQuery.builder().limit(4).cursor(cursor).build());
+            page.getItems().forEach(hit -> paged.add(hit.getSchema().getSchemaId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).isEqualTo(ranking);
+    }
+
+    @Test
+    void searchCursorContinuesAcrossIndexUpdates() {
+        saveInvoices(20);
+        SchemaPage<SchemaSearchHit<FormSchema>> first = repository.search("invoice",
+                SchemaQuery.builder().limit(5).build());
+        List<String> returned = first.getItems().stream().map(hit -> hit.getSchema().getSchemaId()).toList();
+
+        // Shifts the weight of the term, and so every score: one hit fewer, two more and an unrelated schema
+        repository.deleteById(returned.get(0));
+        repository.save(invoice("new-1", "Invoice", "invoice", List.of("invoice")));
+        repository.save(invoice("new-2", "Receipt", "invoice", List.of()));
+        repository.save(invoice("other", "Survey", null, List.of()));
+
+        List<String> ranking = searchAll("invoice");
+        List<String> expected = ranking.subList(ranking.indexOf(returned.get(4)) + 1, ranking.size());
+        SchemaPage<SchemaSearchHit<FormSchema>> second = repository.search("invoice",
+                SchemaQuery.builder().limit(100).cursor(first.getNextCursor()).build());
+
+        assertThat(second.getItems()).extracting(hit -> hit.getSchema().getSchemaId())
+                .containsExactlyElementsOf(expected)
+                .doesNotContainAnyElementsOf(returned)
+                .contains("new-2");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchCursorIsBoundToItsText() {
+        saveInvoices(3);
+        String cursor = repository.search("invoice", SchemaQuery.builder().limit(1).build()).getNextCursor();
+
+        assertThatThrownBy(() -> repository.search("invoice form", SchemaQuery.builder().cursor(cursor).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor does not match");
+        assertThat(repository.search("INVOICE", SchemaQuery.builder().cursor(cursor).build()).getItems())
+                .hasSize(2);
+    }
+
+    // Invoices matched in their name, description and tags in every combination, so that scores vary and tie
+    private void saveInvoices(int count) {
+        for (int i = 0; i < count; i++) {
+            repository.save(invoice("invoice-" + i, i % 2 == 0 ? "Invoice " + i : "Form " + i,
+                    i % 6 == 0 ? null : "An invoice", i % 5 == 0 ? List.of("invoice") : List.of()));
+        }
+    }
+
+    private List<String> searchAll(String text) {
+        return repository.search(text, SchemaQuery.builder().build()).getItems().stream()
+                .map(hit -> hit.getSchema().getSchemaId())
+                .toList();
+    }
+
+    private static FormSchema invoice(String schemaId, String name, String description, List<String> tags) {
+        return FormSchema.builder()
+                .schemaId(schemaId)
+                .schemaName(name)
+                .description(description)
+                .tags(tags)
+                .build();
+    }
+
+    private static FormSchema schema(String status) {
+        return FormSchema.builder()
+                .schemaId("s1")
+                .schemaName("contact")
+                .status(status)
+                .tags(List.of("crm"))
+                .build();
+    }
+
+    private static final class ControlledStore implements SchemaStore {
+
+        private final Deque<CompletableFuture<Void>> writes = new ArrayDeque<>();
+        volatile boolean failing;
+        volatile boolean manual;
+
+        @Override
+        public Collection<FormSchema> load() {
+            return List.of();
+        }
+
+        @Override
+        public CompletableFuture<Void> save(FormSchema schema) {
+            return write();
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(String schemaId) {
+            return write();
+        }
+
+        private synchronized CompletableFuture<Void> write() {
+            if (failing) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Disk full"));
+            }
+            if (!manual) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            writes.add(future);
+            notifyAll();
+            return future;
+        }
+
+        synchronized CompletableFuture<Void> awaitWrite() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (writes.isEmpty() && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            return writes.remove();
+        }
+    }
+}
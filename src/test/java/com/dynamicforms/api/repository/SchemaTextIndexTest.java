@@ -0,0 +1,118 @@
+package com.dynamicforms.api.repository;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.FormSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaTextIndexTest {
+
+    private final SchemaTextIndex index = new SchemaTextIndex();
+    private final List<String> schemaIds = new ArrayList<>();
+
+    @Test
+    void namesAndTagsOutrankDescriptions() {
+        add(schema("described").description("Monthly invoice for customers"));
+        add(schema("named").schemaName("Invoice"));
+        add(schema("tagged").tags(List.of("invoice")));
+        add(schema("unrelated").schemaName("Survey"));
+
+        assertThat(search("invoice")).containsExactly("named", "tagged", "described");
+    }
+
+    @Test
+    void wholeTermsOutrankPrefixes() {
+        add(schema("prefix").schemaName("Emailer"));
+        add(schema("whole").description("email"));
+
+        // The prefix match is in the name, yet the whole term in the description ranks first
+        assertThat(search("email")).containsExactly("whole", "prefix");
+        assertThat(search("emai")).containsExactly("prefix", "whole");
+    }
+
+    @Test
+    void rareTermsCountMore() {
+        add(schema("common-in-name").schemaName("Contact").description("survey"));
+        add(schema("rare-in-name").schemaName("Survey").description("contact"));
+        add(schema("contact-1").schemaName("Contact"));
+        add(schema("contact-2").schemaName("Contact"));
+
+        assertThat(search("contact survey")).containsExactly("rare-in-name", "common-in-name");
+    }
+
+    @Test
+    void tiesAreOrderedBySchemaId() {
+        add(schema("c").schemaName("Feedback"));
+        add(schema("a").schemaName("Feedback"));
+        add(schema("b").schemaName("Feedback"));
+        add(schema("d").schemaName("Feedback form"));
+
+        List<SchemaTextIndex.Match> matches = matches("feedback", null, 10);
+        assertThat(matches).extracting(SchemaTextIndex.Match::schemaId).containsExactly("a", "b", "c", "d");
+        assertThat(matches.get(0).score()).isEqualTo(matches.get(2).score());
+    }
+
+    @Test
+    void everyTermMustMatchWholeOrByCamelCasePart() {
+        add(schema("person").formConfig(FormConfig.builder()
+                .fields(List.of(FormField.builder().name("firstName").label("Given").build()))
+                .build()));
+        add(schema("first-only").schemaName("First steps"));
+
+        assertThat(search("first name")).containsExactly("person");
+        assertThat(search("FIRSTNAME")).containsExactly("person");
+        assertThat(search("first")).containsExactlyInAnyOrder("person", "first-only");
+        assertThat(search("first missing")).isEmpty();
+    }
+
+    @Test
+    void removedSchemasNoLongerMatch() {
+        add(schema("a").schemaName("Invoice"));
+        add(schema("b").schemaName("Invoice"));
+
+        index.remove(0);
+
+        assertThat(search("invoice")).containsExactly("b");
+        assertThat(search("inv")).containsExactly("b");
+    }
+
+    @Test
+    void matchesResumeAfterCursor() {
+        for (String id : List.of("e", "d", "c", "b", "a")) {
+            add(schema(id).schemaName("Order"));
+        }
+        add(schema("best").schemaName("Order").tags(List.of("order")));
+
+        List<SchemaTextIndex.Match> first = matches("order", null, 3);
+        assertThat(first).extracting(SchemaTextIndex.Match::schemaId).containsExactly("best", "a", "b");
+
+        // A stale score is replaced by the cursor schema's current one
+        SchemaTextIndex.Match last = first.get(2);
+        SchemaTextIndex.Match cursor = new SchemaTextIndex.Match(last.denseId(), last.schemaId(), last.score() * 2);
+        assertThat(matches("order", cursor, 3)).extracting(SchemaTextIndex.Match::schemaId)
+                .containsExactly("c", "d", "e");
+    }
+
+    private void add(FormSchema.FormSchemaBuilder schema) {
+        FormSchema built = schema.build();
+        index.add(schemaIds.size(), built);
+        schemaIds.add(built.getSchemaId());
+    }
+
+    private List<String> search(String text) {
+        return matches(text, null, Integer.MAX_VALUE).stream().map(SchemaTextIndex.Match::schemaId).toList();
+    }
+
+    private List<SchemaTextIndex.Match> matches(String text, SchemaTextIndex.Match after, int max) {
+        return index.search(SchemaTextIndex.queryTerms(text), null, after, max, schemaIds::get);
+    }
+
+    private static FormSchema.FormSchemaBuilder schema(String schemaId) {
+        return FormSchema.builder().schemaId(schemaId);
+    }
+}
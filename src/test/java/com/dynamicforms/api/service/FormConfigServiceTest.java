@@ -0,0 +1,43 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormConfigServiceTest {
+
+    private final FormConfigService service = new FormConfigService();
+
+    @Test
+    void catalogCollectionsCannotBeChanged() {
+        FormConfig contact = service.getContactFormConfig();
+        FormField field = contact.getFields().get(0);
+        FormField textarea = contact.getFields().stream()
+                .filter(candidate -> candidate.getAttributes() != null)
+                .findFirst()
+                .orElseThrow();
+
+        assertThatThrownBy(() -> contact.getFields().set(0, FormField.builder().name("replaced").build()))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> field.getValidations().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> textarea.getAttributes().put("rows", 1))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> service.getConditionalFormConfig().getFields().get(1).getConditions().get(0)
+                .getValues().add("student"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> service.getCrossFieldValidationFormConfig().getCrossFieldValidations().get(0)
+                .getFields().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void everyCallerSharesTheCatalogConfig() {
+        assertThat(service.getFormById("contact")).isSameAs(service.getContactFormConfig());
+        assertThat(service.getAllForms()).containsOnlyKeys("registration", "contact", "conditional",
+                "cross-validation");
+    }
+}
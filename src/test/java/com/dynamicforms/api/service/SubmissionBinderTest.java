@@ -0,0 +1,109 @@
+package com.dynamicforms.api.service;
+
+import com.dynamicforms.api.model.ValidationError;
+import com.dynamicforms.api.repository.InMemorySchemaStore;
+import com.dynamicforms.api.repository.SchemaRepository;
+import com.dynamicforms.api.service.SubmissionBinder.BoundSubmission;
+import com.dynamicforms.api.validation.RegexCache;
+import com.dynamicforms.api.validation.SubmissionRejectedException;
+import com.dynamicforms.api.validation.ValidationPlanCompiler;
+import com.dynamicforms.api.validation.ValidatorRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionBinderTest {
+
+    private final FormValidationService validationService = new FormValidationService(new FormConfigService(),
+            new SchemaRepository(event -> { }, new InMemorySchemaStore(), 10),
+            new ValidationPlanCompiler(new RegexCache(16, 1000, 50), new ValidatorRegistry(List.of())),
+            new ValidationMetrics(new SimpleMeterRegistry()), new ValidationResultCache(false, 0, 0));
+    private final SubmissionBinder binder = new SubmissionBinder(validationService, new ObjectMapper(),
+            new SimpleMeterRegistry(), 2000, 8, 100, 1 << 20, true, 1024);
+
+    @Test
+    void batchElementsAreBoundUnderSubmissionLimits() throws IOException {
+        List<BoundSubmission> bound = binder.bindBatch(body("""
+                [{"formId": "registration", "data": {"username": "alice"}},
+                 null,
+                 {"data": {"username": "bob", "unknown": 1}, "formId": "registration"}]
+                """), true, 10);
+
+        assertThat(bound).hasSize(3);
+        assertThat(bound.get(0).rejection()).isNull();
+        assertThat(bound.get(0).submission().getData()).containsEntry("username", "alice");
+        assertThat(bound.get(1)).isNull();
+        // Bound again once the formId following the data is known, and rejected for its unknown key
+        assertThat(bound.get(2).rejection().getErrors()).extracting(ValidationError::getField)
+                .containsExactly("unknown");
+        assertThat(bound.get(0).resolution()).isSameAs(bound.get(2).resolution());
+    }
+
+    @Test
+    void ndjsonLinesAreBoundOneByOne() throws IOException {
+        List<BoundSubmission> bound = binder.bindBatch(body("""
+                {"formId": "registration", "data": {"username": "alice"}}
+                {"formId": "missing", "data": {}}
+                """), false, 10);
+
+        assertThat(bound).extracting(submission -> submission.resolution().plan() != null)
+                .containsExactly(true, false);
+    }
+
+    @Test
+    void batchIsRefusedOnceItHasTooManySubmissions() {
+        CountingInputStream input = new CountingInputStream("[" + "null,".repeat(10_000) + "null]");
+
+        assertThatThrownBy(() -> binder.bindBatch(input, true, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maximum of 3");
+        assertThat(input.read).isLessThan(input.length);
+    }
+
+    @Test
+    void oversizedElementRejectsBatch() {
+        String large = "x".repeat(5000);
+
+        assertThatThrownBy(() -> binder.bindBatch(body("[{\"formId\": \"registration\", \"data\": {\"username\": \""
+                + large + "\"}}]"), true, 10))
+                .isInstanceOf(SubmissionRejectedException.class)
+                .hasMessageContaining("2000 bytes");
+    }
+
+    @Test
+    void batchMustBeAnArray() {
+        assertThatThrownBy(() -> binder.bindBatch(body("{\"formId\": \"registration\"}"), true, 10))
+                .hasMessageContaining("Batch must be a JSON array");
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class CountingInputStream extends ByteArrayInputStream {
+
+        final int length;
+        int read;
+
+        CountingInputStream(String json) {
+            super(json.getBytes(StandardCharsets.UTF_8));
+            this.length = count;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            read += Math.max(n, 0);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dynamicforms.api.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateParserTest {
+
+    @Test
+    void agreesWithLocalDateParseOnEveryDayOfFourCenturies() {
+        // 1600 to 2400 covers leap days in years divisible by 4, 100 and 400
+        for (LocalDate date = LocalDate.of(1600, 1, 1); date.getYear() <= 2400; date = date.plusDays(1)) {
+            assertAgrees(date.toString());
+        }
+    }
+
+    @Test
+    void agreesWithLocalDateParseOnLeapDays() {
+        List<String> inputs = List.of(
+                "2024-02-29", "2023-02-29", "2000-02-29", "1900-02-29", "2100-02-29", "2400-02-29", "0000-02-29",
+                "0004-02-29", "0100-02-29", "2024-02-30", "2023-02-28");
+        for (String input : inputs) {
+            assertAgrees(input);
+        }
+    }
+
+    @Test
+    void agreesWithLocalDateParseOnInvalidDates() {
+        List<String> inputs = List.of(
+                "2024-00-10", "2024-13-01", "2024-04-31", "2024-06-31", "2024-09-31", "2024-11-31", "2024-01-32",
+                "2024-01-00", "2024-1-01", "2024-01-1", "24-01-01", "2024/01/01", "2024-01-01T00:00",
+                "2024-01-01 ", " 2024-01-01", "20240101", "2024-0a-01", "2O24-01-01", "２０２４-01-01",
+                "-2024-01-01", "+2024-01-01", "+12024-01-01", "-0001-12-31", "+999999999-12-31",
+                "+1000000000-01-01", "", "2024-01", "99999-01-01");
+        for (String input : inputs) {
+            assertAgrees(input);
+        }
+    }
+
+    @Test
+    void datesAreTakenAsTheirEpochDay() {
+        long[] out = new long[1];
+        assertThat(DateParser.parse(LocalDate.of(1970, 1, 2), out, 0)).isTrue();
+        assertThat(out[0]).isEqualTo(1);
+        assertThat(DateParser.parse(20240101, out, 0)).isFalse();
+    }
+
+    private static void assertAgrees(String input) {
+        Long expected;
+        try {
+            expected = LocalDate.parse(input).toEpochDay();
+        } catch (DateTimeParseException e) {
+            expected = null;
+        }
+
+        long[] out = {Long.MIN_VALUE};
+        boolean parsed = DateParser.parse(input, out, 0);
+        assertThat(parsed).as("parses %s", input).isEqualTo(expected != null);
+        assertThat(out[0]).as("epoch day of %s", input).isEqualTo(expected != null ? expected : Long.MIN_VALUE);
+    }
+}
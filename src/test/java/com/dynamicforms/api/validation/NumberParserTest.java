@@ -0,0 +1,124 @@
+package com.dynamicforms.api.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumberParserTest {
+
+    @Test
+    void agreesWithParseDoubleOnBoundaryValues() {
+        List<String> inputs = List.of(
+                "0", "-0", "+0", "0.0", "-0.0", "-0e10", "-0.000", "00", "007", ".5", "5.", "-.5", "+.5",
+                "1e0", "1e22", "1e23", "1e-22", "1e-23", "9e22", "123456789012345e7", "1E+5", "1e-5", "2.5E-3",
+                "1e308", "1.7976931348623157e308", "1.7976931348623159e308", "1e309", "-1e309",
+                "4.9e-324", "2.4e-324", "2.5e-324", "1e-400", "1e99999999999", "1e-99999999999",
+                "999999999999999", "9999999999999999", "99999999999999999", "12345678901234567890",
+                "9007199254740993", "9007199254740992.5", "0.1", "0.30000000000000004", "3.141592653589793238",
+                "123456789012345.6", "0.000000000000000000000001", "100000000000000000000000",
+                "2.2250738585072011e-308", "2.2250738585072012e-308", "1.00000000000000011102230246251565",
+                " 42 ", "\t-7.5\n", "1f", "1D", "1e5d", "0x1p3", "-0x1.8p1", "0X10", "NaN", "-NaN", "Infinity",
+                "-Infinity", "+Infinity");
+        for (String input : inputs) {
+            assertAgrees(input);
+        }
+    }
+
+    @Test
+    void rejectsWhatParseDoubleRejects() {
+        List<String> inputs = List.of(
+                "", " ", "-", "+", ".", "-.", "e5", ".e5", "1e", "1e+", "1e-", "1.2.3", "1e5.5", "--1", "+-1",
+                "1 2", "1_000", "1,5", "0x", "0xg", "nan", "infinity", "Inf", "NaNx", "1ee5", "1e5f5", "1ff",
+                "true", "١٢", "12a");
+        for (String input : inputs) {
+            assertAgrees(input);
+        }
+    }
+
+    @Test
+    void agreesWithParseDoubleOnRandomLiterals() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            assertAgrees(randomLiteral(random));
+        }
+    }
+
+    @Test
+    void agreesWithParseDoubleOnRandomDoubles() {
+        Random random = new Random(5);
+        for (int i = 0; i < 50_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            assertAgrees(Double.toString(value));
+            if (Double.isFinite(value)) {
+                // 20 significant digits, more than the fast path takes
+                assertAgrees(new BigDecimal(value).round(new MathContext(20)).toString());
+            }
+        }
+    }
+
+    @Test
+    void numbersAreTakenAsTheirDoubleValue() {
+        double[] out = new double[1];
+        assertThat(NumberParser.parse(Long.MAX_VALUE, out, 0)).isTrue();
+        assertThat(out[0]).isEqualTo((double) Long.MAX_VALUE);
+        assertThat(NumberParser.parse(-0.0, out, 0)).isTrue();
+        assertThat(Double.doubleToRawLongBits(out[0])).isEqualTo(Double.doubleToRawLongBits(-0.0));
+        assertThat(NumberParser.parse(new BigDecimal("1e400"), out, 0)).isTrue();
+        assertThat(out[0]).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(NumberParser.parse(Boolean.TRUE, out, 0)).isFalse();
+    }
+
+    private static void assertAgrees(String input) {
+        Double expected;
+        try {
+            expected = Double.parseDouble(input);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+
+        double[] out = {Double.MIN_VALUE};
+        boolean parsed = NumberParser.parse(input, out, 0);
+        assertThat(parsed).as("parses %s", input).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(Double.doubleToLongBits(out[0])).as("value of %s", input)
+                    .isEqualTo(Double.doubleToLongBits(expected));
+        } else {
+            assertThat(out[0]).as("output untouched for %s", input).isEqualTo(Double.MIN_VALUE);
+        }
+    }
+
+    private static String randomLiteral(Random random) {
+        StringBuilder literal = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            literal.append(random.nextBoolean() ? '-' : '+');
+        }
+        appendDigits(random, literal, random.nextInt(22));
+        if (random.nextBoolean()) {
+            literal.append('.');
+            appendDigits(random, literal, random.nextInt(22));
+        }
+        if (random.nextInt(3) == 0) {
+            literal.append(random.nextBoolean() ? 'e' : 'E');
+            if (random.nextBoolean()) {
+                literal.append(random.nextBoolean() ? '-' : '+');
+            }
+            appendDigits(random, literal, random.nextInt(4));
+        }
+        if (random.nextInt(50) == 0) {
+            literal.append("fdx ".charAt(random.nextInt(4)));
+        }
+        return literal.toString();
+    }
+
+    private static void appendDigits(Random random, StringBuilder literal, int count) {
+        for (int i = 0; i < count; i++) {
+            // Zeros are common, so that leading and trailing zeros are exercised
+            literal.append(random.nextInt(3) == 0 ? '0' : (char) ('0' + random.nextInt(10)));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.dynamicforms.api.validation;
+
+import com.dynamicforms.api.model.CrossFieldValidation;
+import com.dynamicforms.api.model.FieldCondition;
+import com.dynamicforms.api.model.FormConfig;
+import com.dynamicforms.api.model.FormField;
+import com.dynamicforms.api.model.ValidationError;
+import com.dynamicforms.api.model.ValidationMode;
+import com.dynamicforms.api.model.ValidationRule;
+import com.dynamicforms.api.service.FormConfigService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ValidationPlanCompilerTest {
+
+    private final ValidationPlanCompiler compiler =
+            new ValidationPlanCompiler(new RegexCache(16, 1000, 50), new ValidatorRegistry(List.of()));
+
+    @Test
+    void ruleWithoutMessageStillFails() {
+        ValidationPlan plan = compiler.compile(form(ValidationRule.builder().name("minLength").value(3).build()));
+
+        List<ValidationError> errors = plan.validate(Map.of("code", "ab"));
+
+        assertThat(errors).extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(tuple("code", "code failed minLength"));
+        assertThat(plan.validate(Map.of("code", "abc"))).isEmpty();
+    }
+
+    @Test
+    void configuredMessageIsReported() {
+        ValidationPlan plan = compiler.compile(form(ValidationRule.builder().name("required").value(true)
+                .errorMessage("Code is required").build()));
+
+        assertThat(plan.validate(Map.of())).extracting(ValidationError::getMessage)
+                .containsExactly("Code is required");
+    }
+
+    @Test
+    void validatorMayReportItsOwnMessage() {
+        ValidationPlan plan = compiler.compile(form(ValidationRule.builder().name("min").value(1)
+                .errorMessage("Too small").build()));
+
+        assertThat(plan.validate(Map.of("code", "x"))).extracting(ValidationError::getMessage)
+                .containsExactly(NumericBoundValidator.INVALID_NUMBER);
+        assertThat(plan.validate(Map.of("code", 0))).extracting(ValidationError::getMessage)
+                .containsExactly("Too small");
+    }
+
+    @Test
+    void conditionalFieldIsNotValidatedWhileItsConditionsHideIt() {
+        ValidationPlan plan = compiler.compile(new FormConfigService().getConditionalFormConfig());
+
+        assertThat(plan.validate(Map.of("employmentStatus", "student"))).extracting(ValidationError::getField)
+                .contains("universityName")
+                .doesNotContain("companyName");
+        assertThat(plan.validate(Map.of("employmentStatus", "employed"))).extracting(ValidationError::getField)
+                .contains("companyName")
+                .doesNotContain("universityName");
+    }
+
+    @Test
+    void hiddenFieldWithoutConditionsIsValidated() {
+        ValidationPlan plan = compiler.compile(FormConfig.builder()
+                .formId("test")
+                .fields(List.of(FormField.builder()
+                        .name("token")
+                        .hidden(true)
+                        .validations(List.of(
+                                ValidationRule.builder().name("required").value(true).build(),
+                                ValidationRule.builder().name("maxLength").value(4).build()))
+                        .build()))
+                .build());
+
+        assertThat(plan.validate(Map.of())).extracting(ValidationError::getField).containsExactly("token");
+        assertThat(plan.validate(Map.of("token", "tampered"))).extracting(ValidationError::getField)
+                .containsExactly("token");
+        assertThat(plan.validate(Map.of("token", "abcd"))).isEmpty();
+    }
+
+    @Test
+    void changedControllingFieldRevalidatesItsDependents() {
+        ValidationPlan plan = compiler.compile(new FormConfigService().getConditionalFormConfig());
+        Map<String, Object> data = Map.of("employmentStatus", "employed", "hasExperience", false);
+
+        FieldSelection status = plan.select(List.of("employmentStatus"));
+        assertThat(status.getFieldNames()).containsExactly("employmentStatus", "companyName", "universityName");
+        assertThat(plan.validate(data, status, ValidationOptions.EXHAUSTIVE)).extracting(ValidationError::getField)
+                .containsExactly("companyName");
+
+        FieldSelection experience = plan.select(List.of("hasExperience"));
+        assertThat(experience.getFieldNames()).doesNotContain("companyName");
+        assertThat(plan.validate(data, experience, ValidationOptions.EXHAUSTIVE)).extracting(ValidationError::getField)
+                .doesNotContain("companyName");
+    }
+
+    @Test
+    void selectionFollowsConditionsTransitivelyIntoCrossFieldRules() {
+        ValidationPlan plan = compiler.compile(FormConfig.builder()
+                .formId("test")
+                .fields(List.of(
+                        field("plan", null),
+                        field("billing", condition("plan", "paid")),
+                        field("vatNumber", condition("billing", "company")),
+                        field("vatConfirm", null),
+                        field("nickname", null)))
+                .crossFieldValidations(List.of(CrossFieldValidation.builder()
+                        .validationType("fieldMatch")
+                        .fields(List.of("vatNumber", "vatConfirm"))
+                        .build()))
+                .build());
+        Map<String, Object> data = Map.of("plan", "paid", "billing", "company", "vatNumber", "X1",
+                "vatConfirm", "X2");
+
+        FieldSelection changedPlan = plan.select(List.of("plan"));
+        assertThat(changedPlan.getFieldNames()).containsExactly("plan", "billing", "vatNumber");
+        assertThat(plan.validate(data, changedPlan, ValidationOptions.EXHAUSTIVE)).extracting(ValidationError::getField)
+                .containsExactly("vatConfirm");
+
+        FieldSelection changedNickname = plan.select(List.of("nickname"));
+        assertThat(changedNickname.getFieldNames()).containsExactly("nickname");
+        assertThat(plan.validate(data, changedNickname, ValidationOptions.EXHAUSTIVE))
+                .extracting(ValidationError::getField)
+                .containsExactly("nickname");
+        assertThat(plan.select(List.of("unknown")).getFieldNames()).isEmpty();
+    }
+
+    @Test
+    void exhaustiveValidationReportsErrorsInConfigurationOrder() {
+        ValidationPlan plan = compiler.compile(rulesForm());
+
+        assertThat(plan.validate(Map.of("first", "abcdef", "second", "abcdeg"), ValidationOptions.EXHAUSTIVE))
+                .extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(
+                        tuple("first", "Digits only"), tuple("first", "Not an email"), tuple("first", "Too long"),
+                        tuple("second", "Digits only"), tuple("second", "Not an email"), tuple("second", "Too long"),
+                        tuple("second", "Fields differ"));
+    }
+
+    @Test
+    void firstErrorPerFieldReportsCheapestFailureOfEachField() {
+        ValidationPlan plan = compiler.compile(rulesForm());
+
+        assertThat(plan.validate(Map.of("first", "abcdef", "second", "1"),
+                ValidationOptions.of(ValidationMode.FIRST_ERROR_PER_FIELD, null)))
+                .extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(tuple("first", "Too long"), tuple("second", "Not an email"),
+                        tuple("second", "Fields differ"));
+    }
+
+    @Test
+    void failFastStopsAtFirstError() {
+        ValidationPlan plan = compiler.compile(rulesForm());
+
+        assertThat(plan.validate(Map.of("first", "abcdef", "second", "abcdef"),
+                ValidationOptions.of(ValidationMode.FAIL_FAST, null)))
+                .extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(tuple("first", "Too long"));
+    }
+
+    @Test
+    void maxErrorsCutsOffReportingAcrossFields() {
+        ValidationPlan plan = compiler.compile(rulesForm());
+        Map<String, Object> data = Map.of("first", "abcdef", "second", "abcdef");
+
+        assertThat(plan.validate(data, ValidationOptions.of(ValidationMode.ALL, 2)))
+                .extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(tuple("first", "Too long"), tuple("first", "Digits only"));
+        assertThat(plan.validate(data, ValidationOptions.of(ValidationMode.ALL, 4)))
+                .extracting(ValidationError::getField, ValidationError::getMessage)
+                .containsExactly(tuple("first", "Too long"), tuple("first", "Digits only"),
+                        tuple("first", "Not an email"), tuple("second", "Too long"));
+        assertThat(plan.validate(data, ValidationOptions.of(ValidationMode.FIRST_ERROR_PER_FIELD, 1))).hasSize(1);
+    }
+
+    // Two fields whose rules are configured most expensive first, and a cross-field rule after them
+    private static FormConfig rulesForm() {
+        List<ValidationRule> rules = List.of(
+                ValidationRule.builder().name("pattern").value("^[0-9]+$").errorMessage("Digits only").build(),
+                ValidationRule.builder().name("email").value(true).errorMessage("Not an email").build(),
+                ValidationRule.builder().name("maxLength").value(3).errorMessage("Too long").build());
+        return FormConfig.builder()
+                .formId("test")
+                .fields(List.of(
+                        FormField.builder().name("first").validations(rules).build(),
+                        FormField.builder().name("second").validations(rules).build()))
+                .crossFieldValidations(List.of(CrossFieldValidation.builder()
+                        .validationType("fieldMatch")
+                        .fields(List.of("first", "second"))
+                        .errorMessage("Fields differ")
+                        .build()))
+                .build();
+    }
+
+    private static FormField field(String name, FieldCondition condition) {
+        return FormField.builder()
+                .name(name)
+                .hidden(condition != null)
+                .conditions(condition != null ? List.of(condition) : null)
+                .validations(List.of(ValidationRule.builder().name("required").value(true).build()))
+                .build();
+    }
+
+    private static FieldCondition condition(String dependsOn, Object value) {
+        return FieldCondition.builder().dependsOn(dependsOn).operator("equals").value(value).action("show").build();
+    }
+
+    private static FormConfig form(ValidationRule rule) {
+        return FormConfig.builder()
+                .formId("test")
+                .fields(List.of(FormField.builder().name("code").validations(List.of(rule)).build()))
+                .build();
+    }
+}